@@ -32,6 +32,15 @@ if %errorlevel% neq 0 (
     exit /b
 )
 
+echo Packing maps...
+java -cp out src.tile.MapConverter assets\maps
+
+if %errorlevel% neq 0 (
+    echo Map packing failed.
+    pause
+    exit /b
+)
+
 echo Creating JAR file...
 jar cfe PinoyQuest.jar main.Main -C out .
 
@@ -1,5 +1,7 @@
 package src.ai;
 
+// Nodes are immutable and shared by every enemy running the same tree:
+// per-enemy state lives in the Blackboard passed to tick().
 public abstract class BehaviorNode {
-    public abstract BehaviorStatus tick();
+    public abstract BehaviorStatus tick(Blackboard bb);
 }
@@ -0,0 +1,218 @@
+package src.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A behavior tree flattened into one int[] of instructions, run by a small
+// loop instead of walking the node objects.
+//
+// SequenceNode and SelectorNode disappear at compile time: their children
+// are laid out one after another, separated by forward jumps that skip to
+// the end of the composite once a child decides it (a sequence on anything
+// but SUCCESS, a selector on anything but FAILURE). The status register
+// then already holds the composite's result, so nesting needs no stack.
+// A condition followed by such a jump becomes one test-and-jump, and jumps
+// that land on a jump whose outcome is already known go straight through.
+// Only actions (and any other node type) are still ticked as objects.
+//
+// Like the node tree, a program is always run from the root: Sequence and
+// Selector are reactive, so every tick re-checks the higher-priority
+// branches (a closer player still interrupts a patrol) and a RUNNING leaf
+// is simply reached again.
+//
+// Each instruction is one int: target << 16 | operand << 8 | opcode.
+// run() allocates nothing.
+public class BehaviorProgram {
+
+    // ===== OPCODES =====
+    private static final int LEAF = 0;                // status = leaves[operand].tick(bb)
+    private static final int TEST = 1;                // status = conditions[operand]
+    private static final int TEST_OR_FAIL = 2;        // sequence: FAILURE and jump if the condition is false
+    private static final int TEST_OR_SUCCEED = 3;     // selector: SUCCESS and jump if the condition is true
+    private static final int JUMP_UNLESS_SUCCESS = 4; // sequence: stop on FAILURE / RUNNING
+    private static final int JUMP_UNLESS_FAILURE = 5; // selector: stop on SUCCESS / RUNNING
+    private static final int SET_STATUS = 6;          // status = values[operand] (empty composite)
+
+    private static final int MAX_OPERAND = 0xFF;
+    private static final int MAX_TARGET = 0xFFFF;
+
+    private static final BehaviorStatus[] STATUSES = BehaviorStatus.values();
+
+    private final int[] code;
+    private final ConditionNode[] conditions;
+    private final BehaviorNode[] leaves;
+
+    private BehaviorProgram(int[] code, ConditionNode[] conditions, BehaviorNode[] leaves) {
+        this.code = code;
+        this.conditions = conditions;
+        this.leaves = leaves;
+    }
+
+    // ================== COMPILER ==================
+
+    public static BehaviorProgram compile(BehaviorNode root) {
+        Compiler c = new Compiler();
+        c.emit(root);
+
+        int[] code = c.code.stream().mapToInt(Integer::intValue).toArray();
+        if (code.length > MAX_TARGET)
+            throw new IllegalStateException("Behavior tree too big to compile: " + code.length + " instructions");
+        threadJumps(code);
+
+        return new BehaviorProgram(code,
+                c.conditions.toArray(new ConditionNode[0]),
+                c.leaves.toArray(new BehaviorNode[0]));
+    }
+
+    private static class Compiler {
+        final List<Integer> code = new ArrayList<>();
+        final List<ConditionNode> conditions = new ArrayList<>();
+        final List<BehaviorNode> leaves = new ArrayList<>();
+
+        void emit(BehaviorNode node) {
+            if (node instanceof SequenceNode sequence) {
+                emitComposite(sequence.children, JUMP_UNLESS_SUCCESS, BehaviorStatus.SUCCESS);
+            } else if (node instanceof SelectorNode selector) {
+                emitComposite(selector.children, JUMP_UNLESS_FAILURE, BehaviorStatus.FAILURE);
+            } else if (node instanceof ConditionNode condition) {
+                code.add(index(conditions, condition) << 8 | TEST);
+            } else {
+                code.add(index(leaves, node) << 8 | LEAF);
+            }
+        }
+
+        // children one after another; after each but the last, a jump to the
+        // end when that child decided the composite
+        void emitComposite(BehaviorNode[] children, int jump, BehaviorStatus empty) {
+            if (children.length == 0) {
+                code.add(empty.ordinal() << 8 | SET_STATUS);
+                return;
+            }
+
+            int[] jumps = new int[children.length - 1];
+            for (int i = 0; i < children.length; i++) {
+                emit(children[i]);
+                if (i < jumps.length) {
+                    int last = code.size() - 1;
+                    if (children[i] instanceof ConditionNode) {
+                        // fold the jump into the test just emitted
+                        int test = jump == JUMP_UNLESS_SUCCESS ? TEST_OR_FAIL : TEST_OR_SUCCEED;
+                        code.set(last, (code.get(last) & ~0xFF) | test);
+                        jumps[i] = last;
+                    } else {
+                        jumps[i] = code.size();
+                        code.add(jump);
+                    }
+                }
+            }
+
+            int end = code.size();
+            for (int at : jumps) {
+                code.set(at, end << 16 | code.get(at));
+            }
+        }
+
+        // a node used twice keeps one entry
+        private <T> int index(List<T> list, T node) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == node)
+                    return i;
+            }
+            if (list.size() > MAX_OPERAND)
+                throw new IllegalStateException("Behavior tree too big to compile: " + list.size() + " leaves");
+            list.add(node);
+            return list.size() - 1;
+        }
+    }
+
+    // A jump landing on a jump whose outcome is known from the status it
+    // jumps with goes straight to where that one leads
+    private static void threadJumps(int[] code) {
+        for (int pc = 0; pc < code.length; pc++) {
+            int op = code[pc] & 0xFF;
+            if (op < TEST_OR_FAIL || op > JUMP_UNLESS_FAILURE)
+                continue;
+
+            int target = code[pc] >>> 16;
+            while (target < code.length) {
+                int next = code[target] & 0xFF;
+                boolean taken;
+                if (op == TEST_OR_FAIL) {             // jumps with FAILURE
+                    if (next == JUMP_UNLESS_SUCCESS) taken = true;
+                    else if (next == JUMP_UNLESS_FAILURE) taken = false;
+                    else break;
+                } else if (op == TEST_OR_SUCCEED) {   // jumps with SUCCESS
+                    if (next == JUMP_UNLESS_FAILURE) taken = true;
+                    else if (next == JUMP_UNLESS_SUCCESS) taken = false;
+                    else break;
+                } else if (next == op) {              // jumps with the status that made it jump
+                    taken = true;
+                } else {
+                    break;
+                }
+                target = taken ? code[target] >>> 16 : target + 1;
+            }
+            code[pc] = target << 16 | (code[pc] & 0xFFFF);
+        }
+    }
+
+    // ================== INTERPRETER ==================
+
+    // Same result as ticking the tree's root
+    public BehaviorStatus run(Blackboard bb) {
+        int[] code = this.code;
+        BehaviorStatus status = BehaviorStatus.SUCCESS;
+
+        int pc = 0;
+        while (pc < code.length) {
+            int instruction = code[pc];
+            int operand = (instruction >>> 8) & 0xFF;
+
+            switch (instruction & 0xFF) {
+                case LEAF:
+                    status = leaves[operand].tick(bb);
+                    pc++;
+                    break;
+                case TEST:
+                    status = conditions[operand].test(bb) ? BehaviorStatus.SUCCESS : BehaviorStatus.FAILURE;
+                    pc++;
+                    break;
+                case TEST_OR_FAIL:
+                    if (conditions[operand].test(bb)) {
+                        status = BehaviorStatus.SUCCESS;
+                        pc++;
+                    } else {
+                        status = BehaviorStatus.FAILURE;
+                        pc = instruction >>> 16;
+                    }
+                    break;
+                case TEST_OR_SUCCEED:
+                    if (conditions[operand].test(bb)) {
+                        status = BehaviorStatus.SUCCESS;
+                        pc = instruction >>> 16;
+                    } else {
+                        status = BehaviorStatus.FAILURE;
+                        pc++;
+                    }
+                    break;
+                case JUMP_UNLESS_SUCCESS:
+                    pc = status == BehaviorStatus.SUCCESS ? pc + 1 : instruction >>> 16;
+                    break;
+                case JUMP_UNLESS_FAILURE:
+                    pc = status == BehaviorStatus.FAILURE ? pc + 1 : instruction >>> 16;
+                    break;
+                default: // SET_STATUS
+                    status = STATUSES[operand];
+                    pc++;
+                    break;
+            }
+        }
+
+        return status;
+    }
+
+    // instructions
+    public int size() {
+        return code.length;
+    }
+}
@@ -0,0 +1,122 @@
+package src.ai;
+
+// Ticks the same behavior tree as node objects (root.tick) and as a
+// compiled BehaviorProgram over many blackboards, and prints the time per
+// enemy tick of each. No game, window or assets needed:
+//
+//   java -cp out src.ai.BehaviorTreeBenchmark [enemies] [branches]
+//
+// The tree is a selector of `branches` guarded behaviors, each a sequence
+// of two range conditions and an action, nested two levels deep like a
+// bigger version of EnemyAI.CHASER. Conditions read bb.distanceSq, which is
+// set from a fixed pseudo-random series, so both runs see the same inputs
+// and must give the same results (checked).
+public class BehaviorTreeBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 400;
+    private static final int TRIALS = 5;
+
+    public static void main(String[] args) {
+        int enemies = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int branches = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        BehaviorNode root = buildTree(branches);
+        BehaviorProgram program = BehaviorProgram.compile(root);
+
+        Blackboard[] boards = new Blackboard[enemies];
+        for (int i = 0; i < enemies; i++) {
+            boards[i] = new Blackboard(null); // the tree never asks for the enemy
+        }
+
+        long treeCheck = runTree(root, boards, WARMUP_ROUNDS);
+        long programCheck = runProgram(program, boards, WARMUP_ROUNDS);
+        if (treeCheck != programCheck) {
+            System.err.println("[BehaviorTreeBenchmark] Results differ: " + treeCheck + " vs " + programCheck);
+            System.exit(1);
+        }
+
+        long bestTree = Long.MAX_VALUE;
+        long bestProgram = Long.MAX_VALUE;
+        for (int trial = 0; trial < TRIALS; trial++) {
+            long start = System.nanoTime();
+            runTree(root, boards, ROUNDS);
+            bestTree = Math.min(bestTree, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            runProgram(program, boards, ROUNDS);
+            bestProgram = Math.min(bestProgram, System.nanoTime() - start);
+        }
+
+        double ticks = (double) enemies * ROUNDS;
+        System.out.printf("[BehaviorTreeBenchmark] %d enemies, %d branches, %d instructions%n",
+                enemies, branches, program.size());
+        System.out.printf("[BehaviorTreeBenchmark] node tree: %.1f ns/tick%n", bestTree / ticks);
+        System.out.printf("[BehaviorTreeBenchmark] program:   %.1f ns/tick (%.2fx)%n",
+                bestProgram / ticks, (double) bestTree / bestProgram);
+    }
+
+    // ================== TREE ==================
+
+    private static BehaviorNode buildTree(int branches) {
+        BehaviorNode[] outer = new BehaviorNode[branches];
+        for (int b = 0; b < branches; b++) {
+            long near = (long) (b + 1) * 1000;
+
+            // a selector of two guarded actions under each branch
+            outer[b] = new SequenceNode(
+                    new ConditionNode(bb -> bb.distanceSq < near * 4),
+                    new SelectorNode(
+                            new SequenceNode(
+                                    new ConditionNode(bb -> bb.distanceSq < near),
+                                    new ConditionNode(bb -> (bb.distanceSq & 1) == 0),
+                                    new Action(BehaviorStatus.SUCCESS)),
+                            new SequenceNode(
+                                    new ConditionNode(bb -> bb.distanceSq > near / 2),
+                                    new Action(BehaviorStatus.RUNNING))));
+        }
+        return new SelectorNode(outer);
+    }
+
+    private static class Action extends ActionNode {
+        private final BehaviorStatus status;
+
+        Action(BehaviorStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        public BehaviorStatus tick(Blackboard bb) {
+            return status;
+        }
+    }
+
+    // ================== RUNS ==================
+
+    // Both return a checksum of every result, so the work can't be skipped
+    private static long runTree(BehaviorNode root, Blackboard[] boards, int rounds) {
+        long check = 0;
+        long seed = 42;
+        for (int round = 0; round < rounds; round++) {
+            for (Blackboard bb : boards) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                bb.distanceSq = (seed >>> 33) % 40_000;
+                check = check * 31 + root.tick(bb).ordinal();
+            }
+        }
+        return check;
+    }
+
+    private static long runProgram(BehaviorProgram program, Blackboard[] boards, int rounds) {
+        long check = 0;
+        long seed = 42;
+        for (int round = 0; round < rounds; round++) {
+            for (Blackboard bb : boards) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                bb.distanceSq = (seed >>> 33) % 40_000;
+                check = check * 31 + program.run(bb).ordinal();
+            }
+        }
+        return check;
+    }
+}
@@ -0,0 +1,56 @@
+package src.ai;
+
+import src.entity.mobs.Enemy;
+
+// Per-enemy state for a shared BehaviorTree. The tree's nodes are the same
+// objects for every enemy of a type and keep nothing themselves; whatever
+// is about one enemy is reached through its blackboard.
+//
+// Every tick starts with beginTick(): the sensors are measured once, and
+// each condition of the tree is worked out at most once however many
+// branches ask for it (memo bits, one per ConditionNode slot).
+public class Blackboard {
+
+    public final Enemy enemy;
+
+    // ===== SENSORS (measured once per tick) =====
+    // enemy to player, squared world pixels (compare against range * range)
+    public long distanceSq;
+
+    // ===== CONDITION MEMO (this tick) =====
+    private long known;     // slot bits already worked out
+    private long results;   // their results
+
+    public Blackboard(Enemy enemy) {
+        this.enemy = enemy;
+    }
+
+    void beginTick() {
+        known = 0;
+        distanceSq = enemy.distanceSqToPlayer();
+    }
+
+    // is the player closer than range pixels?
+    public boolean isPlayerWithin(int range) {
+        return distanceSq < (long) range * range;
+    }
+
+    // ================== MEMO (ConditionNode) ==================
+
+    boolean isKnown(int slot) {
+        return (known & (1L << slot)) != 0;
+    }
+
+    boolean result(int slot) {
+        return (results & (1L << slot)) != 0;
+    }
+
+    void remember(int slot, boolean result) {
+        known |= 1L << slot;
+        if (result) {
+            results |= 1L << slot;
+        } else {
+            results &= ~(1L << slot);
+        }
+    }
+}
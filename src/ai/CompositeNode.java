@@ -1,14 +1,11 @@
 package src.ai;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public abstract class CompositeNode extends BehaviorNode {
 
-    protected List<BehaviorNode> children = new ArrayList<>();
+    // fixed when the tree is built
+    protected final BehaviorNode[] children;
 
-    public CompositeNode addChild(BehaviorNode child) {
-        children.add(child);
-        return this;
+    protected CompositeNode(BehaviorNode... children) {
+        this.children = children.clone();
     }
 }
@@ -1,19 +1,45 @@
 package src.ai;
 
-import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
 public class ConditionNode extends BehaviorNode {
 
-    private final BooleanSupplier condition;
+    // asked of whichever enemy's blackboard is ticking the tree
+    private final Predicate<Blackboard> condition;
 
-    public ConditionNode(BooleanSupplier condition) {
+    // memo bit in the blackboard, from the ConditionSlots of the tree it
+    // was built for (-1 = never memoized)
+    final int slot;
+
+    // memoized: worked out at most once per enemy per tick
+    public ConditionNode(Predicate<Blackboard> condition, ConditionSlots slots) {
+        this.condition = condition;
+        this.slot = slots.next();
+    }
+
+    // asked again every time it is reached
+    public ConditionNode(Predicate<Blackboard> condition) {
         this.condition = condition;
+        this.slot = -1;
     }
 
     @Override
-    public BehaviorStatus tick() {
-        return condition.getAsBoolean()
+    public BehaviorStatus tick(Blackboard bb) {
+        return test(bb)
                 ? BehaviorStatus.SUCCESS
                 : BehaviorStatus.FAILURE;
     }
+
+    // the condition, worked out at most once per tick when it has a slot
+    // (also called directly by BehaviorProgram)
+    final boolean test(Blackboard bb) {
+        if (slot < 0)
+            return condition.test(bb);
+        if (bb.isKnown(slot))
+            return bb.result(slot);
+
+        boolean result = condition.test(bb);
+        bb.remember(slot, result);
+        return result;
+    }
 }
@@ -0,0 +1,18 @@
+package src.ai;
+
+// Hands out the memo slots (bits of the Blackboard memo) to the
+// ConditionNodes of one tree while it is being built, so each node gets
+// its slot in its constructor and never changes afterwards.
+public class ConditionSlots {
+
+    // one bit per condition in the blackboard's memo
+    public static final int MAX = Long.SIZE;
+
+    private int next = 0;
+
+    int next() {
+        if (next == MAX)
+            throw new IllegalStateException("More than " + MAX + " conditions in one tree");
+        return next++;
+    }
+}
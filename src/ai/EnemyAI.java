@@ -1,40 +1,78 @@
 package src.ai;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import src.ai.nodes.*;
-import src.entity.mobs.Enemy;
 
+// A behavior tree, built once and shared by every enemy that runs it.
+//
+// The nodes hold no reference to an enemy and no state of their own, so one
+// tree serves any number of enemies; each enemy only brings its Blackboard.
+// CHASER is the tree of the wave enemies (DogEnemy, TambayEnemy, BossEnemy).
+//
+// Its ConditionNodes get their memo slots (see Blackboard) from one
+// ConditionSlots while the tree is built, so a condition asked by several
+// branches is only worked out once per enemy per tick, and a bigger tree
+// doesn't mean more sensing. The tree is then compiled (BehaviorProgram) and enemies run the flat program, not the nodes.
 public class EnemyAI {
 
-    private final BehaviorNode root;
+    public static final EnemyAI CHASER = new EnemyAI(buildChaser(new ConditionSlots()));
+
+    private final BehaviorProgram program;
 
-    public EnemyAI(Enemy enemy) {
+    public EnemyAI(BehaviorNode root) {
+        checkSlots(root, new IdentityHashMap<>(), new ConditionNode[ConditionSlots.MAX]);
+        this.program = BehaviorProgram.compile(root);
+    }
+
+    // Two different conditions on one memo slot would answer for each other:
+    // every condition of a tree must come from that tree's ConditionSlots
+    // (a node used in two branches keeps its one slot, so it is asked once)
+    private static void checkSlots(BehaviorNode node, Map<BehaviorNode, Boolean> seen, ConditionNode[] owners) {
+        if (seen.put(node, Boolean.TRUE) != null)
+            return;
+
+        if (node instanceof ConditionNode condition) {
+            if (condition.slot < 0)
+                return;
+            if (owners[condition.slot] != null)
+                throw new IllegalStateException("Conditions from different ConditionSlots share memo slot " + condition.slot);
+            owners[condition.slot] = condition;
+        } else if (node instanceof CompositeNode composite) {
+            for (BehaviorNode child : composite.children) {
+                checkSlots(child, seen, owners);
+            }
+        }
+    }
+
+    private static BehaviorNode buildChaser(ConditionSlots slots) {
+
+        // asked by both sequences, worked out once per tick
+        CanSeePlayerNode canSeePlayer = new CanSeePlayerNode(slots);
 
         // ATTACK sequence
-        SequenceNode attack = new SequenceNode();
-        attack.addChild(new CanSeePlayerNode(enemy))
-              .addChild(new ConditionNode(() -> enemy.isInAttackRange()))
-              .addChild(new AttackPlayerNode(enemy));
+        SequenceNode attack = new SequenceNode(
+                canSeePlayer,
+                new InAttackRangeNode(slots),
+                new AttackPlayerNode());
 
         // CHASE sequence
-        SequenceNode chase = new SequenceNode();
-        chase.addChild(new CanSeePlayerNode(enemy))
-             .addChild(new MoveToPlayerNode(enemy));
+        SequenceNode chase = new SequenceNode(
+                canSeePlayer,
+                new MoveToPlayerNode());
 
         // PATROL fallback
-        SequenceNode patrol = new SequenceNode();
-        patrol.addChild(new HasPatrolPathNode(enemy))
-              .addChild(new FollowPatrolPathNode(enemy));
+        SequenceNode patrol = new SequenceNode(
+                new HasPatrolPathNode(slots),
+                new FollowPatrolPathNode());
 
         // Decision tree
-        SelectorNode rootSelector = new SelectorNode();
-        rootSelector.addChild(attack);
-        rootSelector.addChild(chase);
-        rootSelector.addChild(patrol);
-
-        this.root = rootSelector;
+        return new SelectorNode(attack, chase, patrol);
     }
 
-    public void update() {
-        root.tick();
+    public void update(Blackboard bb) {
+        bb.beginTick();
+        program.run(bb);
     }
 }
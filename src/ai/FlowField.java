@@ -0,0 +1,149 @@
+package src.ai;
+
+import java.util.Arrays;
+
+import src.core.GamePanel;
+import src.entity.Player;
+
+// Distance-to-player map over the tiles of the current map, shared by every
+// chasing enemy (DogEnemy, TambayEnemy, BossEnemy).
+//
+// One breadth-first search from the player's tile over the WalkGrid fills
+// dist[] for the whole map; an enemy then only steps to the neighbour tile
+// with the smallest distance. The search runs again only when the player
+// reaches another tile or the grid is rebuilt (map / collision change), so
+// any number of enemies costs one BFS.
+public class FlowField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // neighbour offsets: the 4 straight ones first, then the diagonals
+    private static final int[] DCOL = { 1, -1, 0, 0, 1, 1, -1, -1 };
+    private static final int[] DROW = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+    private final GamePanel gp;
+    private final WalkGrid grid;
+
+    // ===== SEARCH (redone when the player changes tile) =====
+    private int cols, rows;
+    private int[] dist;
+    private int[] queue;
+    private int targetCol, targetRow;
+    private int gridStamp = -1; // grid the search ran on
+
+    public FlowField(GamePanel gp, WalkGrid grid) {
+        this.gp = gp;
+        this.grid = grid;
+    }
+
+    // ================== UPDATE ==================
+
+    // Bring the field up to date for the player's tile (cheap when it is)
+    public void update() {
+        Player player = gp.player;
+        grid.update();
+        if (player == null || !grid.isReady())
+            return;
+
+        if (dist == null || cols != grid.cols || rows != grid.rows) {
+            cols = grid.cols;
+            rows = grid.rows;
+            dist = new int[cols * rows];
+            queue = new int[cols * rows];
+            gridStamp = -1;
+        }
+
+        int col = grid.colAt(player.worldX + player.solidArea.x + player.solidArea.width / 2);
+        int row = grid.rowAt(player.worldY + player.solidArea.y + player.solidArea.height / 2);
+        col = Math.max(0, Math.min(cols - 1, col));
+        row = Math.max(0, Math.min(rows - 1, row));
+
+        if (gridStamp != grid.getStamp() || col != targetCol || row != targetRow) {
+            search(col, row);
+        }
+    }
+
+    // BFS (4-neighbour, every step costs 1) from the target tile
+    private void search(int col, int row) {
+        targetCol = col;
+        targetRow = row;
+        gridStamp = grid.getStamp();
+
+        Arrays.fill(dist, UNREACHABLE);
+
+        int head = 0;
+        int tail = 0;
+        int start = row * cols + col;
+        dist[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int index = queue[head++];
+            int c = index % cols;
+            int r = index / cols;
+            int next = dist[index] + 1;
+
+            for (int d = 0; d < 4; d++) {
+                int nc = c + DCOL[d];
+                int nr = r + DROW[d];
+                if (nc < 0 || nr < 0 || nc >= cols || nr >= rows)
+                    continue;
+
+                int n = nr * cols + nc;
+                if (grid.isBlocked(n) || dist[n] != UNREACHABLE)
+                    continue;
+
+                dist[n] = next;
+                queue[tail++] = n;
+            }
+        }
+    }
+
+    // ================== QUERIES ==================
+
+    // Steps from tile (col, row) to the player, UNREACHABLE if walled off
+    public int distance(int col, int row) {
+        if (dist == null || col < 0 || row < 0 || col >= cols || row >= rows)
+            return UNREACHABLE;
+        return dist[row * cols + col];
+    }
+
+    // Tile (row * cols + col) to head for from the tile under world point
+    // (x, y): the neighbour closest to the player (a diagonal saves a step,
+    // but only counts when both tiles beside it are open, so no cutting
+    // wall corners).
+    // -1 if that tile can't reach the player.
+    public int nextTile(int x, int y) {
+        int col = grid.colAt(x);
+        int row = grid.rowAt(y);
+
+        int best = distance(col, row);
+        if (best == UNREACHABLE)
+            return -1;
+
+        int bestIndex = row * cols + col;
+        for (int d = 0; d < 8; d++) {
+            int nc = col + DCOL[d];
+            int nr = row + DROW[d];
+
+            if (d >= 4 && (distance(nc, row) == UNREACHABLE || distance(col, nr) == UNREACHABLE))
+                continue;
+
+            int nd = distance(nc, nr);
+            if (nd < best) {
+                best = nd;
+                bestIndex = nr * cols + nc;
+            }
+        }
+        return bestIndex;
+    }
+
+    // world pixel centre of a nextTile() result
+    public int centerX(int index) {
+        return grid.centerX(index);
+    }
+
+    public int centerY(int index) {
+        return grid.centerY(index);
+    }
+}
@@ -0,0 +1,269 @@
+package src.ai;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A* over the WalkGrid for enemies heading to a fixed tile (patrol points,
+// boss moves), as opposed to chasing the player (see FlowField).
+//
+// findPath() never searches on the spot: it answers from the path cache or
+// queues the search and returns null, and the caller asks again next tick.
+// update() (once per tick) works through the queue, expanding at most
+// NODE_BUDGET nodes per tick, so a long search is spread over several
+// ticks instead of stalling one. Only one search runs at a time, so the node
+// arrays are allocated once per grid size and reused by every search.
+//
+// Paths are cached by (start tile, goal tile, grid stamp), least recently
+// used first out; a rebuilt grid (map or collision change) drops them all.
+public class Pathfinder {
+
+    // node expansions per tick, over all queued searches
+    public static final int NODE_BUDGET = 400;
+
+    private static final int CACHE_SIZE = 128;
+
+    // cached answer for "no way there"
+    public static final int[] NO_PATH = new int[0];
+
+    // 8 neighbours, straight first; costs x10 so diagonals can be 14
+    private static final int[] DCOL = { 1, -1, 0, 0, 1, 1, -1, -1 };
+    private static final int[] DROW = { 0, 0, 1, -1, 1, -1, 1, -1 };
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+
+    private final WalkGrid grid;
+
+    private final Map<Long, int[]> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final ArrayDeque<Long> queue = new ArrayDeque<>();
+    private final HashSet<Long> queued = new HashSet<>();
+    private int cacheStamp = -1;
+
+    // ===== NODE ARRAYS (reused by every search) =====
+    private int cols, rows;
+    private int[] gCost;
+    private int[] parent;
+    private int[] openedIn;   // id of the search that last opened the node
+    private int[] closedIn;   // id of the search that last closed the node
+    private long[] heap;      // open list: (f << 32 | node), min-heap
+    private int heapSize;
+    private int searchId = 0;
+
+    // ===== SEARCH IN PROGRESS =====
+    private long currentKey = -1;
+    private int start, goal;
+
+    public Pathfinder(WalkGrid grid) {
+        this.grid = grid;
+    }
+
+    // ================== REQUESTS ==================
+
+    // Tiles (row * cols + col) from the one after start up to goal, NO_PATH
+    // if goal can't be reached, or null if the search hasn't finished yet
+    // (ask again next tick).
+    public int[] findPath(int startCol, int startRow, int goalCol, int goalRow) {
+        sync();
+        if (!grid.isReady() || grid.isBlocked(goalCol, goalRow) ||
+                startCol < 0 || startRow < 0 || startCol >= grid.cols || startRow >= grid.rows)
+            return NO_PATH;
+
+        long key = key(startRow * grid.cols + startCol, goalRow * grid.cols + goalCol);
+        int[] path = cache.get(key);
+        if (path != null)
+            return path;
+
+        if (queued.add(key)) {
+            queue.add(key);
+        }
+        return null;
+    }
+
+    // grid stamp the cached paths belong to (routes kept by callers compare it)
+    public int getStamp() {
+        return grid.getStamp();
+    }
+
+    private long key(int startIndex, int goalIndex) {
+        return ((long) grid.getStamp() << 42) | ((long) startIndex << 21) | goalIndex;
+    }
+
+    // drop everything found on an older grid
+    private void sync() {
+        grid.update();
+        if (cacheStamp == grid.getStamp())
+            return;
+
+        cacheStamp = grid.getStamp();
+        cache.clear();
+        queue.clear();
+        queued.clear();
+        currentKey = -1;
+
+        if (gCost == null || cols != grid.cols || rows != grid.rows) {
+            cols = grid.cols;
+            rows = grid.rows;
+            int n = cols * rows;
+            gCost = new int[n];
+            parent = new int[n];
+            openedIn = new int[n];
+            closedIn = new int[n];
+            heap = new long[n];
+            searchId = 0;
+        }
+    }
+
+    // ================== SEARCH (time-sliced) ==================
+
+    // Once per tick: spend the node budget on the queued searches
+    public void update() {
+        sync();
+        int budget = NODE_BUDGET;
+
+        while (budget > 0) {
+            if (currentKey < 0) {
+                Long next = queue.poll();
+                if (next == null)
+                    return;
+                begin(next);
+            }
+            budget = expand(budget);
+        }
+    }
+
+    private void begin(long key) {
+        currentKey = key;
+        start = (int) ((key >>> 21) & 0x1FFFFF);
+        goal = (int) (key & 0x1FFFFF);
+
+        searchId++;
+        heapSize = 0;
+        gCost[start] = 0;
+        parent[start] = -1;
+        open(start, heuristic(start));
+    }
+
+    // Expand up to budget nodes of the current search; returns what's left
+    private int expand(int budget) {
+        while (budget > 0) {
+            if (heapSize == 0) {
+                finish(NO_PATH);
+                return budget;
+            }
+
+            int node = pop();
+            budget--;
+
+            if (closedIn[node] == searchId)
+                continue; // stale copy, already expanded
+            if (node == goal) {
+                finish(buildPath());
+                return budget;
+            }
+            closedIn[node] = searchId;
+
+            int c = node % cols;
+            int r = node / cols;
+            for (int d = 0; d < 8; d++) {
+                int nc = c + DCOL[d];
+                int nr = r + DROW[d];
+                if (grid.isBlocked(nc, nr))
+                    continue;
+                // no cutting wall corners
+                if (d >= 4 && (grid.isBlocked(nc, r) || grid.isBlocked(c, nr)))
+                    continue;
+
+                int n = nr * cols + nc;
+                if (closedIn[n] == searchId)
+                    continue;
+
+                int g = gCost[node] + (d < 4 ? STRAIGHT : DIAGONAL);
+                if (openedIn[n] == searchId && g >= gCost[n])
+                    continue;
+
+                gCost[n] = g;
+                parent[n] = node;
+                open(n, g + heuristic(n));
+            }
+        }
+        return 0;
+    }
+
+    private void finish(int[] path) {
+        cache.put(currentKey, path);
+        queued.remove(currentKey);
+        currentKey = -1;
+    }
+
+    // octile distance to the goal
+    private int heuristic(int node) {
+        int dc = Math.abs(node % cols - goal % cols);
+        int dr = Math.abs(node / cols - goal / cols);
+        return STRAIGHT * Math.max(dc, dr) + (DIAGONAL - STRAIGHT) * Math.min(dc, dr);
+    }
+
+    private int[] buildPath() {
+        int length = 0;
+        for (int n = goal; n != start; n = parent[n]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        for (int n = goal, i = length - 1; n != start; n = parent[n], i--) {
+            path[i] = n;
+        }
+        return path;
+    }
+
+    // ================== OPEN LIST (binary heap) ==================
+
+    // Push node with cost f. A node whose cost went down is pushed again;
+    // the old copy comes out later and is skipped as already closed.
+    private void open(int node, int f) {
+        openedIn[node] = searchId;
+
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        long entry = ((long) f << 32) | node;
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >> 1;
+            if (heap[up] <= entry)
+                break;
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = entry;
+    }
+
+    private int pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child])
+                child++;
+            if (heap[child] >= last)
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) {
+            heap[i] = last;
+        }
+        return (int) top;
+    }
+}
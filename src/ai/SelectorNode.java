@@ -2,10 +2,14 @@ package src.ai;
 
 public class SelectorNode extends CompositeNode {
 
+    public SelectorNode(BehaviorNode... children) {
+        super(children);
+    }
+
     @Override
-    public BehaviorStatus tick() {
+    public BehaviorStatus tick(Blackboard bb) {
         for (BehaviorNode child : children) {
-            BehaviorStatus result = child.tick();
+            BehaviorStatus result = child.tick(bb);
 
             if (result == BehaviorStatus.SUCCESS || result == BehaviorStatus.RUNNING) {
                 return result;
@@ -2,10 +2,14 @@ package src.ai;
 
 public class SequenceNode extends CompositeNode {
 
+    public SequenceNode(BehaviorNode... children) {
+        super(children);
+    }
+
     @Override
-    public BehaviorStatus tick() {
+    public BehaviorStatus tick(Blackboard bb) {
         for (BehaviorNode child : children) {
-            BehaviorStatus result = child.tick();
+            BehaviorStatus result = child.tick(bb);
 
             if (result == BehaviorStatus.FAILURE) {
                 return BehaviorStatus.FAILURE;
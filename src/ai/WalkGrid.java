@@ -0,0 +1,92 @@
+package src.ai;
+
+import src.core.GamePanel;
+import src.tile.MapData;
+
+// Which tiles of the current map an enemy can walk on, shared by the
+// FlowField and the Pathfinder.
+//
+// A tile is walkable if its whole square is clear of blocking tiles and
+// object hitboxes (Collision). The grid is only rebuilt when the map or its
+// collision changes (Collision.getVersion()); getStamp() goes up on every
+// rebuild so anything computed on an older grid can tell.
+public class WalkGrid {
+
+    private final GamePanel gp;
+
+    private int mapIndex = -1;
+    private int collisionVersion = -1;
+    private int stamp = 0;
+
+    public int cols, rows;
+    private boolean[] blocked; // row-major
+
+    public WalkGrid(GamePanel gp) {
+        this.gp = gp;
+    }
+
+    // Rebuild for the current map if needed (cheap when nothing changed)
+    public void update() {
+        if (gp.tileManager == null)
+            return;
+
+        int version = gp.collision.getVersion();
+        if (gp.currentMap == mapIndex && version == collisionVersion)
+            return;
+
+        MapData map = gp.tileManager.getMap(gp.currentMap);
+        mapIndex = gp.currentMap;
+        collisionVersion = version;
+        stamp++;
+
+        if (blocked == null || cols != map.cols || rows != map.rows) {
+            cols = map.cols;
+            rows = map.rows;
+            blocked = new boolean[cols * rows];
+        }
+
+        int ts = gp.tileSize;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                blocked[row * cols + col] = gp.collision.isAreaBlocked(col * ts, row * ts, ts, ts);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return blocked != null;
+    }
+
+    // outside the map counts as blocked
+    public boolean isBlocked(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows)
+            return true;
+        return blocked[row * cols + col];
+    }
+
+    public boolean isBlocked(int index) {
+        return blocked[index];
+    }
+
+    public int getStamp() {
+        return stamp;
+    }
+
+    // tile under a world pixel
+    public int colAt(int worldX) {
+        return Math.floorDiv(worldX, gp.tileSize);
+    }
+
+    public int rowAt(int worldY) {
+        return Math.floorDiv(worldY, gp.tileSize);
+    }
+
+    // world pixel centre of tile index (row * cols + col)
+    public int centerX(int index) {
+        return (index % cols) * gp.tileSize + gp.tileSize / 2;
+    }
+
+    public int centerY(int index) {
+        return (index / cols) * gp.tileSize + gp.tileSize / 2;
+    }
+}
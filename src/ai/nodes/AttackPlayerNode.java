@@ -5,18 +5,14 @@ import src.entity.mobs.Enemy;
 
 public class AttackPlayerNode extends ActionNode {
 
-    private final Enemy enemy;
-
-    public AttackPlayerNode(Enemy enemy) {
-        this.enemy = enemy;
-    }
-
     @Override
-    public BehaviorStatus tick() {
+    public BehaviorStatus tick(Blackboard bb) {
+        Enemy enemy = bb.enemy;
 
         if (enemy.isDead()) return BehaviorStatus.FAILURE;
 
-        if (enemy.isInAttackRange()) {
+        // same sensor reading as the range condition before it
+        if (bb.isPlayerWithin(enemy.getAttackRange())) {
             enemy.attack();
             return BehaviorStatus.SUCCESS;
         }
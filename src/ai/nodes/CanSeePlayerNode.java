@@ -1,11 +1,11 @@
 package src.ai.nodes;
 
 import src.ai.ConditionNode;
-import src.entity.mobs.Enemy;
+import src.ai.ConditionSlots;
 
 public class CanSeePlayerNode extends ConditionNode {
 
-    public CanSeePlayerNode(Enemy enemy) {
-        super(enemy::canSeePlayer);
+    public CanSeePlayerNode(ConditionSlots slots) {
+        super(bb -> bb.isPlayerWithin(bb.enemy.getVisionRange()), slots);
     }
 }
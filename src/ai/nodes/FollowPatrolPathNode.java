@@ -1,20 +1,13 @@
 package src.ai.nodes;
 
 import src.ai.*;
-import src.entity.mobs.Enemy;
 
 public class FollowPatrolPathNode extends ActionNode {
 
-    private final Enemy enemy;
-
-    public FollowPatrolPathNode(Enemy enemy) {
-        this.enemy = enemy;
-    }
-
     @Override
-    public BehaviorStatus tick() {
+    public BehaviorStatus tick(Blackboard bb) {
 
-        enemy.followPatrolPath();
+        bb.enemy.followPatrolPath();
 
         return BehaviorStatus.RUNNING;
     }
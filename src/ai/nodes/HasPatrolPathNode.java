@@ -1,11 +1,11 @@
 package src.ai.nodes;
 
 import src.ai.ConditionNode;
-import src.entity.mobs.Enemy;
+import src.ai.ConditionSlots;
 
 public class HasPatrolPathNode extends ConditionNode {
 
-    public HasPatrolPathNode(Enemy enemy) {
-        super(enemy::hasPatrolPath);
+    public HasPatrolPathNode(ConditionSlots slots) {
+        super(bb -> bb.enemy.hasPatrolPath(), slots);
     }
 }
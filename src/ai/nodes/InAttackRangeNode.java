@@ -0,0 +1,11 @@
+package src.ai.nodes;
+
+import src.ai.ConditionNode;
+import src.ai.ConditionSlots;
+
+public class InAttackRangeNode extends ConditionNode {
+
+    public InAttackRangeNode(ConditionSlots slots) {
+        super(bb -> bb.isPlayerWithin(bb.enemy.getAttackRange()), slots);
+    }
+}
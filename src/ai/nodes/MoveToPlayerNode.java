@@ -5,14 +5,9 @@ import src.entity.mobs.Enemy;
 
 public class MoveToPlayerNode extends ActionNode {
 
-    private final Enemy enemy;
-
-    public MoveToPlayerNode(Enemy enemy) {
-        this.enemy = enemy;
-    }
-
     @Override
-    public BehaviorStatus tick() {
+    public BehaviorStatus tick(Blackboard bb) {
+        Enemy enemy = bb.enemy;
 
         if (enemy.isDead()) return BehaviorStatus.FAILURE;
 
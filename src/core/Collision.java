@@ -2,15 +2,73 @@ package src.core;
 
 import java.awt.Rectangle;
 import src.entity.Entity;
+import src.tile.CollisionMap;
+import src.tile.TileManager;
 
 public class Collision {
 
     private final GamePanel gp;
 
+    // One collision bitmap per map, built on first use after a map or tile change
+    private final CollisionMap[] maps = new CollisionMap[TileManager.MAP_COUNT];
+
+    // Goes up every time any map's collision changes (AI caches key on this)
+    private int version = 0;
+
     public Collision(GamePanel gp) {
         this.gp = gp;
     }
 
+    // ================== COLLISION MAPS ==================
+
+    // Call when a map's tiles or objects change (map load, setTile...)
+    public void invalidate(int mapIndex) {
+        if (mapIndex < 0 || mapIndex >= maps.length)
+            return;
+        maps[mapIndex] = null;
+        version++;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public CollisionMap getMap(int mapIndex) {
+        if (mapIndex < 0 || mapIndex >= maps.length)
+            return null;
+
+        CollisionMap map = maps[mapIndex];
+        if (map == null) {
+            map = new CollisionMap(gp, mapIndex, version);
+            maps[mapIndex] = map;
+        }
+        return map;
+    }
+
+    public CollisionMap currentMap() {
+        return getMap(gp.currentMap);
+    }
+
+    /**
+     * Checks whether a world-pixel box overlaps a blocking tile or object
+     * on the current map (outside the map counts as blocked).
+     */
+    public boolean isAreaBlocked(int x, int y, int width, int height) {
+        CollisionMap map = currentMap();
+        if (map == null)
+            return false;
+
+        int flags = map.areaFlags(x, y, width, height);
+        if (flags == CollisionMap.SOLID)
+            return true;
+
+        // bitmap only says "close to an object": do the exact hitbox test
+        if (flags == CollisionMap.NEAR_OBJECT) {
+            return gp.objectManager != null && gp.objectManager.isBoxBlocked(x, y, width, height);
+        }
+        return false;
+    }
+
     /**
      * Checks whether the given entity would collide with either:
      *  - a blocking tile, or
@@ -28,31 +86,7 @@ public class Collision {
             return false;
         }
 
-        // ===== TILE COLLISION =====
-        int left   = nextWorldX + area.x;
-        int right  = nextWorldX + area.x + area.width  - 1;
-        int top    = nextWorldY + area.y;
-        int bottom = nextWorldY + area.y + area.height - 1;
-
-        int leftCol   = Math.floorDiv(left,   gp.tileSize);
-        int rightCol  = Math.floorDiv(right,  gp.tileSize);
-        int topRow    = Math.floorDiv(top,    gp.tileSize);
-        int bottomRow = Math.floorDiv(bottom, gp.tileSize);
-
-        for (int row = topRow; row <= bottomRow; row++) {
-            for (int col = leftCol; col <= rightCol; col++) {
-                if (gp.isTileBlocked(col, row)) {
-                    return true;
-                }
-            }
-        }
-
-        // ===== OBJECT COLLISION =====
-        // Uses improved hitboxes in ObjectManager (based on sprite size, not tiles)
-        if (gp.isObjectBlocked(nextWorldX, nextWorldY, area)) {
-            return true;
-        }
-
-        return false;
+        // ===== TILE + OBJECT COLLISION (bitmap) =====
+        return isAreaBlocked(nextWorldX + area.x, nextWorldY + area.y, area.width, area.height);
     }
 }
@@ -0,0 +1,156 @@
+package src.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Waits for frame deadlines on a fixed period.
+//
+// Thread.sleep(1) wakes up about once a millisecond and its accuracy follows
+// the OS timer. Instead we park until shortly before the deadline and
+// only spin-wait for the final stretch. The parking margin adapts to how
+// much the OS actually oversleeps.
+//
+// Also keeps jitter statistics (how late each wakeup was) so the pacing
+// can be checked on a real machine.
+public class FramePacer {
+
+    // spin margin limits: never park closer than MIN, never spin longer than MAX
+    private static final long MIN_SPIN_NANOS = 200_000L;     // 0.2 ms
+    private static final long MAX_SPIN_NANOS = 3_000_000L;   // 3 ms
+
+    private long periodNanos;
+    private long nextDeadline;
+
+    // expected oversleep of parkNanos (moving average), decides the spin margin
+    private long spinNanos = 1_000_000L;
+
+    // ===== JITTER STATS =====
+    private long samples;
+    private long totalLateNanos;
+    private long maxLateNanos;
+    private long lastWake;
+    private double intervalSum;
+    private double intervalSumSq;
+    private long intervalSamples;
+
+    public FramePacer(long periodNanos) {
+        this.periodNanos = periodNanos;
+        reset();
+    }
+
+    public void setPeriod(long periodNanos) {
+        if (periodNanos > 0 && periodNanos != this.periodNanos) {
+            this.periodNanos = periodNanos;
+            reset();
+        }
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    // start counting from now (after a pause, a resize, a period change...)
+    public void reset() {
+        nextDeadline = System.nanoTime() + periodNanos;
+        lastWake = 0;
+    }
+
+    // BLOCK UNTIL THE NEXT FRAME DEADLINE
+    public void waitForNextFrame() throws InterruptedException {
+
+        // 1) PARK while we are comfortably far from the deadline
+        long remaining;
+        while ((remaining = nextDeadline - System.nanoTime()) > spinNanos) {
+            long parkFor = remaining - spinNanos;
+            long before = System.nanoTime();
+            LockSupport.parkNanos(this, parkFor);
+            long overslept = (System.nanoTime() - before) - parkFor;
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            adaptSpin(overslept);
+        }
+
+        // 2) SPIN for the last stretch
+        while (System.nanoTime() < nextDeadline) {
+            Thread.onSpinWait();
+        }
+
+        long now = System.nanoTime();
+        record(now - nextDeadline, now);
+
+        // 3) NEXT DEADLINE (stay on the grid, resync if we fell a full frame
+        //    behind: the next grid deadline would already be in the past)
+        nextDeadline += periodNanos;
+        if (now - nextDeadline > 0) {
+            nextDeadline = now + periodNanos;
+        }
+    }
+
+    // keep the spin margin a bit above the typical oversleep
+    private void adaptSpin(long overslept) {
+        if (overslept < 0) {
+            overslept = 0;
+        }
+        long target = overslept * 2;
+        spinNanos += (target - spinNanos) / 8;
+        if (spinNanos < MIN_SPIN_NANOS) spinNanos = MIN_SPIN_NANOS;
+        if (spinNanos > MAX_SPIN_NANOS) spinNanos = MAX_SPIN_NANOS;
+    }
+
+    // ================== JITTER STATS ==================
+
+    private void record(long lateNanos, long now) {
+        samples++;
+        totalLateNanos += lateNanos;
+        if (lateNanos > maxLateNanos) {
+            maxLateNanos = lateNanos;
+        }
+
+        if (lastWake != 0) {
+            double interval = now - lastWake;
+            intervalSum += interval;
+            intervalSumSq += interval * interval;
+            intervalSamples++;
+        }
+        lastWake = now;
+    }
+
+    public void resetStats() {
+        samples = 0;
+        totalLateNanos = 0;
+        maxLateNanos = 0;
+        intervalSum = 0;
+        intervalSumSq = 0;
+        intervalSamples = 0;
+    }
+
+    // average time we woke up after the deadline
+    public double getAverageLateMicros() {
+        return samples == 0 ? 0 : totalLateNanos / (double) samples / 1000.0;
+    }
+
+    public double getMaxLateMicros() {
+        return maxLateNanos / 1000.0;
+    }
+
+    // standard deviation of the time between wakeups (frame-time jitter)
+    public double getIntervalStdDevMicros() {
+        if (intervalSamples < 2) {
+            return 0;
+        }
+        double mean = intervalSum / intervalSamples;
+        double variance = intervalSumSq / intervalSamples - mean * mean;
+        return Math.sqrt(Math.max(0, variance)) / 1000.0;
+    }
+
+    public String summary() {
+        return String.format("period=%.2fms late avg=%.1fus max=%.1fus interval sd=%.1fus spin=%.2fms (%d frames)",
+                periodNanos / 1_000_000.0,
+                getAverageLateMicros(),
+                getMaxLateMicros(),
+                getIntervalStdDevMicros(),
+                spinNanos / 1_000_000.0,
+                samples);
+    }
+}
@@ -0,0 +1,77 @@
+package src.core;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+// Heavyweight drawing surface used for ACTIVE rendering.
+// The game loop thread owns the BufferStrategy: it draws the frame
+// directly and flips it with show(), instead of asking Swing to repaint.
+public class GameCanvas extends Canvas {
+
+    private static final long serialVersionUID = 1L;
+
+    // 2 = back buffer + front buffer (page flipping when the platform allows)
+    private static final int BUFFER_COUNT = 2;
+
+    private final GamePanel gp;
+    private BufferStrategy strategy;
+
+    public GameCanvas(GamePanel gp) {
+        this.gp = gp;
+
+        this.setBackground(Color.BLACK);
+        this.setFocusable(true);
+
+        // we draw every frame ourselves, ignore OS paint requests
+        this.setIgnoreRepaint(true);
+    }
+
+    // RENDER ONE FRAME (called from the game loop thread)
+    // Returns false if the canvas is not on screen yet, so the caller
+    // can fall back to the normal Swing repaint path.
+    public boolean renderFrame() {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return false;
+        }
+
+        try {
+            if (strategy == null) {
+                createBufferStrategy(BUFFER_COUNT);
+                strategy = getBufferStrategy();
+            }
+
+            // Standard BufferStrategy loop: redraw if the back buffer was
+            // restored or lost while we were drawing (e.g. display mode change)
+            do {
+                do {
+                    Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        gp.drawFrame(g2);
+                    } finally {
+                        g2.dispose();
+                    }
+                } while (strategy.contentsRestored());
+
+                strategy.show(); // flip at a fixed point in the frame
+            } while (strategy.contentsLost());
+
+            // flush the pipeline so the frame is actually presented now
+            Toolkit.getDefaultToolkit().sync();
+            return true;
+
+        } catch (IllegalStateException e) {
+            // canvas was removed from the window while drawing
+            strategy = null;
+            return false;
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        strategy = null;
+        super.removeNotify();
+    }
+}
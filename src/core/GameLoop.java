@@ -1,5 +1,8 @@
 package src.core;
 
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.locks.LockSupport;
 
 public class GameLoop implements Runnable {
     
@@ -7,13 +10,33 @@ public class GameLoop implements Runnable {
     private final GamePanel gamePanel;
     
     // The thread that runs the game loop
-    private Thread thread;
+    private volatile Thread thread;
     
     // Flag that indicates whether the game loop is running
     private volatile boolean running = false;
     
-    // Desired frames per second (FPS)
-    private final int FPS = 60; // Targeted frames per second
+    // Simulation rate: update() always advances the game by exactly one tick
+    private static final int TICKS_PER_SECOND = 60;
+    private static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    // After a long stall (window drag, GC, breakpoint) only catch up this many
+    // ticks, then drop the rest instead of spiralling
+    private static final int MAX_TICKS_PER_FRAME = 5;
+
+    // Render rate cap (0 = match the monitor refresh rate)
+    private static final int MAX_FPS = 0;
+    private static final int FALLBACK_FPS = 60;
+
+    // Unfocused window: keep simulating, but draw less often
+    private static final int UNFOCUSED_FPS = 20;
+
+    // Idle screens / minimized window: longest sleep between checks
+    // (input wakes the loop immediately through wake())
+    private static final long IDLE_WAIT_NANOS = 250_000_000L;
+
+    // Print frame pacing stats to the console every few seconds
+    private static final boolean LOG_PACING = false;
+    private static final long PACING_LOG_INTERVAL = 5_000_000_000L;
 
 
 
@@ -40,42 +63,119 @@ public class GameLoop implements Runnable {
     public void stop() {
         running = false;
         thread = null;
+        wake();
+    }
+
+    // WAKE UP A SLEEPING LOOP (input, window restored, state change)
+    public void wake() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
     }
 
     // MAIN GAME LOOP
+    // Fixed-timestep update with decoupled rendering: the simulation runs
+    // in TICK_NANOS steps no matter how fast frames are drawn, and each
+    // frame is drawn between the last two ticks (alpha) so motion stays
+    // smooth on monitors faster than the tick rate.
     @Override
     public void run(){
 
-        // Calculates the time per frame in nanoseconds (1 second = 1,000,000,000 ns)
-        double drawInterval = 1000000000.0 / FPS;
-        double delta = 0;
+        long activePeriod = 1_000_000_000L / targetFps();
+        long unfocusedPeriod = Math.max(activePeriod, 1_000_000_000L / UNFOCUSED_FPS);
+
+        FramePacer pacer = new FramePacer(activePeriod);
+        int lastRenderedState = -1;
+        long lastPacingLog = System.nanoTime();
 
-        // Keeps track of time between frames
+        long accumulator = 0;
         long lastTime = System.nanoTime();
-        long currentTime;
 
-        // DELTA METHOD: ensures consistent frame rate even if system lags
         while (running && thread != null) {
-            currentTime = System.nanoTime();
 
-            // Calculates how much time has passed since last frame
-            delta += (currentTime - lastTime) / drawInterval;
-            lastTime = currentTime;
+            // finish menu / world setup once their assets are decoded
+            gamePanel.pollLoading();
+
+            // MINIMIZED / IDLE SCREEN: event driven, no ticks
+            if (gamePanel.isWindowIconified() || gamePanel.isIdleState()) {
+
+                int state = gamePanel.gameState;
+                boolean redraw = gamePanel.consumeRedrawRequest() || state != lastRenderedState;
+                if (redraw && !gamePanel.isWindowIconified()) {
+                    gamePanel.render(1f);
+                    lastRenderedState = state;
+                }
+
+                // sleep until input / a window event wakes us up
+                LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+                if (Thread.interrupted()) {
+                    running = false;
+                    break;
+                }
+
+                // don't let the paused time count as simulation time
+                accumulator = 0;
+                lastTime = System.nanoTime();
+                pacer.reset();
+                continue;
+            }
+
+            // unfocused window: keep ticking at full rate, render slower
+            pacer.setPeriod(gamePanel.isWindowFocused() ? activePeriod : unfocusedPeriod);
+
+            long frameStart = System.nanoTime();
 
-            // If enough time has passed for one frame, update and repaint
-            if (delta >= 1) {
+            accumulator += frameStart - lastTime;
+            lastTime = frameStart;
+
+            // CATCH UP: run as many whole ticks as the elapsed time covers
+            int ticks = 0;
+            while (accumulator >= TICK_NANOS && ticks < MAX_TICKS_PER_FRAME) {
                 gamePanel.update();   // Update game logic (movement, collisions, etc.)
-                gamePanel.repaint();  // Redraw graphics
-                delta--;              // Decrease delta for next frame
+                accumulator -= TICK_NANOS;
+                ticks++;
             }
-            
-            // Small delay to prevent CPU from running at 100%
+
+            // too far behind: drop the backlog (the game slows instead of freezing)
+            if (accumulator >= TICK_NANOS) {
+                accumulator %= TICK_NANOS;
+            }
+
+            // RENDER between the previous tick (0) and the newest one (1)
+            float alpha = (float) accumulator / TICK_NANOS;
+            gamePanel.render(alpha);
+            lastRenderedState = gamePanel.gameState;
+
+            // Sleep until the next frame deadline (park, then a short spin)
             try {
-                Thread.sleep(1);
+                pacer.waitForNextFrame();
             } catch (InterruptedException e) {
                 running = false;
                 break;
             }
+
+            if (LOG_PACING && frameStart - lastPacingLog >= PACING_LOG_INTERVAL) {
+                System.out.println("[GameLoop] " + pacer.summary());
+                pacer.resetStats();
+                lastPacingLog = frameStart;
+            }
+        }
+    }
+
+    // Frames per second to pace rendering at
+    private static int targetFps() {
+        if (MAX_FPS > 0) {
+            return MAX_FPS;
+        }
+        if (!GraphicsEnvironment.isHeadless()) {
+            DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice()
+                    .getDisplayMode();
+            if (mode != null && mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return mode.getRefreshRate();
+            }
         }
+        return FALLBACK_FPS;
     }
 }
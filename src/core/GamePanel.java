@@ -1,10 +1,18 @@
 package src.core;
 
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import src.ai.FlowField;
+import src.ai.Pathfinder;
+import src.ai.WalkGrid;
 import src.entity.Player;
 import src.entity.mobs.Map3EnemySpawner;
 import src.entity.mobs.MobManager;
@@ -12,6 +20,12 @@ import src.entity.mobs.SawTrap;
 import src.entity.mobs.WhiteLady;
 import src.entity.projectiles.TsinelasProjectile;
 import src.items.ItemManager;
+import src.render.RenderQueue;
+import src.render.RenderSnapshot;
+import src.render.SnapshotBuffer;
+import src.render.Viewport;
+import src.tile.MapAssets;
+import src.tile.MapData;
 import src.tile.ObjectManager;
 import src.tile.TileManager;
 import src.ui.ActionBarUI;
@@ -19,6 +33,7 @@ import src.ui.GameOverUI;
 import src.ui.MainMenuUI;
 import src.ui.UI;
 import src.ui.VictoryUI;
+import src.util.AssetLoader;
 
 public class GamePanel extends JPanel {
 
@@ -33,12 +48,13 @@ public class GamePanel extends JPanel {
     public final int screenWidth = tileSize * maxScreenCol;
     public final int screenHeight = tileSize * maxScreenRow;
 
-    // MAP WORLD SIZE
-    public final int maxWorldCol = 31;
-    public final int maxWorldRow = 21;
+    // MAP WORLD SIZE (of the current map; every map file has its own size,
+    // see setCurrentMap())
+    public int maxWorldCol = MapData.DEFAULT_COLS;
+    public int maxWorldRow = MapData.DEFAULT_ROWS;
 
-    public final int worldWidth = tileSize * maxWorldCol;
-    public final int worldHeight = tileSize * maxWorldRow;
+    public int worldWidth = tileSize * maxWorldCol;
+    public int worldHeight = tileSize * maxWorldRow;
 
     public int currentMap = 0;
 
@@ -48,6 +64,9 @@ public class GamePanel extends JPanel {
     // SYSTEMS
     public TileManager tileManager;
     public Collision collision;
+    public WalkGrid walkGrid;
+    public FlowField flowField;
+    public Pathfinder pathfinder;
     public KeyHandler keyHandler;
     public Player player;
 
@@ -56,8 +75,67 @@ public class GamePanel extends JPanel {
     public int cameraY;
     private boolean cameraInitialized = false;
 
+    // camera at the start of the current tick (render interpolation)
+    private int prevCameraX;
+    private int prevCameraY;
+
+    // 0..1 = how far between the last two ticks the next frame is drawn
+    // (set by the GameLoop right before render())
+    private volatile float renderAlpha = 1f;
+
     private GameLoop gameLoop;
+
+    // ===== IDLE / WINDOW STATE =====
+    // Screens without gameplay (menu, settings, game over, victory) are only
+    // redrawn when something changes; a minimized window stops the loop.
+    private volatile boolean redrawRequested = true;
+    private volatile boolean windowIconified = false;
+    private volatile boolean windowFocused = true;
+    private Window window;
+    private final WindowAdapter windowHandler = new WindowAdapter() {
+        @Override
+        public void windowIconified(WindowEvent e) {
+            windowIconified = true;
+        }
+
+        @Override
+        public void windowDeiconified(WindowEvent e) {
+            windowIconified = false;
+            requestRedraw();
+        }
+
+        @Override
+        public void windowGainedFocus(WindowEvent e) {
+            windowFocused = true;
+            requestRedraw();
+        }
+
+        @Override
+        public void windowLostFocus(WindowEvent e) {
+            windowFocused = false;
+            requestRedraw();
+        }
+    };
     public ObjectManager objectManager;
+    public MapAssets mapAssets;
+    private MapPreloader mapPreloader;
+
+    // RENDERING
+    // true = the game loop draws into GameCanvas' BufferStrategy itself
+    // false = classic Swing repaint() + paintComponent on the EDT
+    public static final boolean ACTIVE_RENDERING = true;
+    private GameCanvas canvas;
+
+    // World state handed from update() to the renderer (lock-free)
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+    // depth-sorted draw order, kept between ticks (update thread only)
+    private final RenderQueue renderQueue = new RenderQueue();
+
+    // on-screen part of the world: one for update() (what to queue),
+    // one for the renderer (interpolated camera)
+    public final Viewport viewport = new Viewport();
+    private final Viewport renderViewport = new Viewport();
 
     // GAME STATES
     public static final int STATE_MENU = 0;
@@ -66,8 +144,21 @@ public class GamePanel extends JPanel {
     public static final int STATE_INVENTORY = 3;
     public static final int STATE_GAME_OVER = 4;
     public static final int STATE_VICTORY = 5;
-
-    public int gameState = STATE_MENU;
+    public static final int STATE_LOADING = 6;
+
+    public volatile int gameState = STATE_LOADING;
+
+    // ===== ASSET LOADING =====
+    // Images are decoded on worker threads; the menu shows up as soon as its
+    // own images are in, the world is built when the rest has finished.
+    private static final String ASSET_DIR = "assets";
+    private static final String MENU_ASSET_DIR = "assets" + java.io.File.separator
+            + "ui" + java.io.File.separator + "mainMenu";
+    private AssetLoader assetLoader;
+    private AssetLoader.LoadGroup menuAssets;
+    private AssetLoader.LoadGroup worldAssets;
+    private volatile boolean worldReady = false;
+    private volatile boolean pendingStart = false; // Start pressed while still loading
 
     // MENU
     public int menuSelectedIndex = 0;
@@ -75,6 +166,9 @@ public class GamePanel extends JPanel {
     public boolean canResume = false;
 
     // MOBS
+    // each map's mobs, kept while the player is elsewhere (see MapState)
+    public final MapState[] mapStates = new MapState[TileManager.MAP_COUNT];
+    // the current map's lists (swapped in by setCurrentMap)
     public List<WhiteLady> whiteLadies = new ArrayList<>();
     public List<SawTrap> sawTraps = new ArrayList<>();
     public List<TsinelasProjectile> projectiles = new ArrayList<>();
@@ -102,11 +196,14 @@ public class GamePanel extends JPanel {
         this.setFocusable(true);
         sound = new Sound();
         collision = new Collision(this);
+        walkGrid = new WalkGrid(this);
+        flowField = new FlowField(this, walkGrid);
+        pathfinder = new Pathfinder(walkGrid);
         keyHandler = new KeyHandler(this);
         this.addKeyListener(keyHandler);
 
         // Add mouse listener for clickable buttons (GameOverUI, VictoryUI)
-        this.addMouseListener(new java.awt.event.MouseAdapter() {
+        java.awt.event.MouseAdapter mouseHandler = new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
                 if (gameState == STATE_GAME_OVER) {
@@ -114,30 +211,122 @@ public class GamePanel extends JPanel {
                 } else if (gameState == STATE_VICTORY) {
                     victoryUI.handleMouseClick(e.getX(), e.getY());
                 }
+                requestRedraw();
+            }
+        };
+        this.addMouseListener(mouseHandler);
+
+        // ACTIVE RENDERING SURFACE
+        // The canvas fills the whole panel, so it receives input too
+        if (ACTIVE_RENDERING) {
+            canvas = new GameCanvas(this);
+            canvas.addKeyListener(keyHandler);
+            canvas.addMouseListener(mouseHandler);
+
+            this.setLayout(new BorderLayout());
+            this.add(canvas, BorderLayout.CENTER);
+        }
+
+        // a resized surface must be redrawn even on idle screens
+        this.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                requestRedraw();
+            }
+
+            @Override
+            public void componentShown(ComponentEvent e) {
+                requestRedraw();
             }
         });
 
         gameLoop = new GameLoop(this);
 
+        startAssetLoading();
+    }
+
+    // ===================== ASSET LOADING =====================
+
+    private void startAssetLoading() {
+        assetLoader = new AssetLoader();
+
+        // menu first, so it is on screen while the world is still decoding
+        menuAssets = assetLoader.load("menu",
+                AssetLoader.findImages(MENU_ASSET_DIR), this::requestRedraw);
+        worldAssets = assetLoader.load("world",
+                AssetLoader.findImages(ASSET_DIR, MENU_ASSET_DIR), this::requestRedraw);
+    }
+
+    // Called by the GameLoop thread every iteration: builds the menu and the
+    // world once their images are ready (everything below reads them from
+    // the AssetCache, so no disk I/O happens here)
+    public void pollLoading() {
+        if (mainMenuUI == null && menuAssets.isDone()) {
+            mainMenuUI = new MainMenuUI(this);
+            if (gameState == STATE_LOADING) {
+                gameState = STATE_MENU;
+            }
+            requestRedraw();
+        }
+
+        if (!worldReady && worldAssets.isDone()) {
+            initWorld();
+            worldReady = true;
+            assetLoader.shutdown();
+
+            // everything the world needs is packed or held by its owner now;
+            // the rest may be evicted (map sprites are repacked on switchToMap)
+            worldAssets.release();
+            System.out.println("[GamePanel] World ready");
+            requestRedraw();
+        }
+
+        // checked on every poll, not only the one that built the world: the
+        // EDT may see worldReady still false, then set pendingStart after
+        // that poll has already passed
+        if (worldReady && pendingStart) {
+            pendingStart = false;
+            startNewGame();
+            requestRedraw();
+        }
+    }
+
+    public boolean isWorldReady() {
+        return worldReady;
+    }
+
+    // Block until every asset group is loaded and the world is built
+    // (for tools that drive the panel without a game loop)
+    public void awaitAssets() throws InterruptedException {
+        menuAssets.await();
+        worldAssets.await();
+        pollLoading();
+    }
+
+    private void initWorld() {
         tileManager = new TileManager(this);
         objectManager = new ObjectManager(this);
+        mapAssets = new MapAssets(tileManager, objectManager);
 
         itemManager = new ItemManager(this);
 
         player = new Player(this, keyHandler);
 
-        currentMap = 0;
+        for (int i = 0; i < mapStates.length; i++) {
+            mapStates[i] = new MapState(i);
+        }
+
+        setCurrentMap(0);
         player.worldX = 15 * tileSize;
         player.worldY = 10 * tileSize;
 
         centerCameraOnPlayer(screenWidth, screenHeight);
 
         mobManager = new MobManager(this);
-        whiteLadies.clear();
+        mapPreloader = new MapPreloader(this);
 
         // UI
         ui = new UI(this, player);
-        mainMenuUI = new MainMenuUI(this);
         gameOverUI = new GameOverUI(this);
         victoryUI = new VictoryUI(this);
         actionBarUI = new ActionBarUI(this, player);
@@ -155,7 +344,39 @@ public class GamePanel extends JPanel {
 
     }
 
+    // make mapIndex the current map and take over its world size
+    private void setCurrentMap(int mapIndex) {
+        setCurrentMap(mapIndex, null);
+    }
+
+    private void setCurrentMap(int mapIndex, MapAssets.Pack preparedAssets) {
+        currentMap = mapIndex;
+
+        // the frozen mobs of the map become the live ones
+        whiteLadies = mapStates[mapIndex].whiteLadies;
+        sawTraps = mapStates[mapIndex].sawTraps;
+
+        // only the current map's tileset / object sprites stay loaded
+        if (mapAssets != null)
+            mapAssets.enter(mapIndex, preparedAssets);
+
+        MapData map = tileManager != null ? tileManager.getMap(mapIndex) : null;
+        if (map != null) {
+            maxWorldCol = map.cols;
+            maxWorldRow = map.rows;
+            worldWidth = map.widthPixels(tileSize);
+            worldHeight = map.heightPixels(tileSize);
+        }
+    }
+
     // ===================== MAP SWITCH =====================
+
+    // Start getting a map ready for switchToMap() in the background
+    public void preloadMap(int mapIndex) {
+        if (mapPreloader != null && mapIndex != currentMap)
+            mapPreloader.request(mapIndex);
+    }
+
     public void switchToMap(int newMapIndex, int playerTileCol, int playerTileRow, String facingDirection) {
 
         if (newMapIndex < 0 || newMapIndex >= TileManager.MAP_COUNT) {
@@ -163,13 +384,14 @@ public class GamePanel extends JPanel {
             return;
         }
 
-        currentMap = newMapIndex;
-
-        if (tileManager != null)
-            tileManager.loadMap(newMapIndex);
+        // the map's tiles, objects, items and mobs are kept from the last
+        // visit; only its sprites may have to come in (prepared in the
+        // background if the player came near the teleport)
+        MapAssets.Pack prepared = mapPreloader != null ? mapPreloader.take(newMapIndex) : null;
+        setCurrentMap(newMapIndex, prepared);
 
         if (mobManager != null)
-            mobManager.spawnMobsForMap(newMapIndex);
+            mobManager.enterMap(mapStates[newMapIndex]);
 
         player.worldX = playerTileCol * tileSize;
         player.worldY = playerTileRow * tileSize;
@@ -201,12 +423,24 @@ public class GamePanel extends JPanel {
     // ===================== GAME STATE ACTIONS =====================
     public void startNewGame() {
 
-        currentMap = 0;
+        // world still loading: start as soon as it is ready
+        if (!worldReady) {
+            pendingStart = true;
+            requestRedraw();
+            return;
+        }
+
+        // every map spawns its mobs afresh on its first visit
+        for (MapState state : mapStates) {
+            mobManager.clearMap(state);
+        }
+
+        setCurrentMap(0);
         player.worldX = 15 * tileSize;
         player.worldY = 10 * tileSize;
         player.direction = "down";
 
-        mobManager.spawnMobsForMap(currentMap);
+        mobManager.enterMap(mapStates[currentMap]);
 
         int screenW = getWidth() > 0 ? getWidth() : screenWidth;
         int screenH = getHeight() > 0 ? getHeight() : screenHeight;
@@ -243,9 +477,14 @@ public class GamePanel extends JPanel {
         if (gameState == STATE_VICTORY)
             return;
 
+        // INTERPOLATION: remember where everything was before this tick
+        savePreviousPositions();
+
         // GAMEPLAY
+        ui.update();
         player.update();
         objectManager.update();
+        mapAssets.update();
         itemManager.update();
 
         if (mobManager != null)
@@ -259,7 +498,13 @@ public class GamePanel extends JPanel {
         // -------------------------------
         // UPDATE WAVES IF IN MAP 3 (index 2)
         // -------------------------------
+        // A* searches asked for last tick, within the node budget
+        pathfinder.update();
+
         if (currentMap == 2 && map3Spawner != null) {
+            // one path search for every chasing enemy (only when the player
+            // reached another tile)
+            flowField.update();
             map3Spawner.update(player);
 
             // Check victory condition: all enemies and boss defeated
@@ -293,6 +538,79 @@ public class GamePanel extends JPanel {
             cameraX += (targetCameraX - cameraX) * smoothing;
             cameraY += (targetCameraY - cameraY) * smoothing;
         }
+
+        publishSnapshot();
+    }
+
+    private void savePreviousPositions() {
+        prevCameraX = cameraX;
+        prevCameraY = cameraY;
+
+        player.savePreviousPosition();
+        for (WhiteLady wl : whiteLadies)
+            wl.savePreviousPosition();
+        for (SawTrap st : sawTraps)
+            st.savePreviousPosition();
+        for (TsinelasProjectile projectile : projectiles)
+            projectile.savePreviousPosition();
+
+        if (map3Spawner != null)
+            map3Spawner.savePreviousPositions();
+    }
+
+    // ===================== RENDER SNAPSHOT =====================
+    // Records what drawGame() needs while we are still on the update thread.
+    // The renderer only ever reads the published copy, never the live lists.
+    private void publishSnapshot() {
+
+        RenderSnapshot snapshot = snapshots.beginWrite();
+
+        snapshot.cameraX = cameraX;
+        snapshot.cameraY = cameraY;
+        snapshot.currentMap = currentMap;
+
+        // camera snapped (map switch / respawn) -> don't slide across the map
+        if (Math.abs(cameraX - prevCameraX) > RenderSnapshot.MAX_INTERPOLATION_DISTANCE ||
+                Math.abs(cameraY - prevCameraY) > RenderSnapshot.MAX_INTERPOLATION_DISTANCE) {
+            snapshot.prevCameraX = cameraX;
+            snapshot.prevCameraY = cameraY;
+        } else {
+            snapshot.prevCameraX = prevCameraX;
+            snapshot.prevCameraY = prevCameraY;
+        }
+
+        // Everything above the ground goes through one queue, sorted by
+        // base Y (feet / bottom of the sprite), and is drawn in one pass
+        int screenW = getWidth() > 0 ? getWidth() : screenWidth;
+        int screenH = getHeight() > 0 ? getHeight() : screenHeight;
+        viewport.set(cameraX, cameraY, screenW, screenH, tileSize, maxWorldCol, maxWorldRow);
+
+        // bake the ground around the camera ahead of the renderer
+        tileManager.stream(currentMap, viewport);
+
+        itemManager.queue(renderQueue, viewport);
+        objectManager.queueVisible(renderQueue, viewport);
+        mobManager.queue(renderQueue);
+
+        // WAVES ONLY ON MAP 3 (index 2)
+        if (currentMap == 2 && map3Spawner != null) {
+            map3Spawner.queue(renderQueue);
+        }
+
+        renderQueue.add(player);
+
+        for (TsinelasProjectile projectile : projectiles) {
+            renderQueue.add(projectile);
+        }
+
+        renderQueue.submit(snapshot);
+
+        // HUD / UI values of this tick
+        snapshot.hud.gameState = gameState;
+        ui.capture(snapshot.hud);
+        actionBarUI.capture(snapshot.hud);
+
+        snapshots.publish();
     }
 
     private void updateProjectiles() {
@@ -302,6 +620,7 @@ public class GamePanel extends JPanel {
             projectile.update();
             if (projectile.isExpired()) {
                 iterator.remove();
+                projectile.dispose();
             }
         }
     }
@@ -346,6 +665,85 @@ public class GamePanel extends JPanel {
         playMusic(2);
     }
 
+    // ===================== IDLE / WINDOW STATE =====================
+
+    // Hook the window once we are inside one, to know when it is
+    // minimized or loses focus
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        Window w = SwingUtilities.getWindowAncestor(this);
+        if (w != window) {
+            if (window != null) {
+                window.removeWindowListener(windowHandler);
+                window.removeWindowFocusListener(windowHandler);
+            }
+            window = w;
+            if (window != null) {
+                window.addWindowListener(windowHandler);
+                window.addWindowFocusListener(windowHandler);
+                windowFocused = window.isFocused();
+                if (window instanceof Frame frame) {
+                    windowIconified = (frame.getExtendedState() & Frame.ICONIFIED) != 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (window != null) {
+            window.removeWindowListener(windowHandler);
+            window.removeWindowFocusListener(windowHandler);
+            window = null;
+        }
+        super.removeNotify();
+    }
+
+    // True on screens where update() does nothing and the picture only
+    // changes on input
+    public boolean isIdleState() {
+        return gameState == STATE_LOADING
+                || gameState == STATE_MENU
+                || gameState == STATE_SETTINGS
+                || gameState == STATE_GAME_OVER
+                || gameState == STATE_VICTORY;
+    }
+
+    public boolean isWindowIconified() {
+        return windowIconified;
+    }
+
+    public boolean isWindowFocused() {
+        return windowFocused;
+    }
+
+    // Ask for a new frame (input, resize, state change); wakes a sleeping loop
+    public void requestRedraw() {
+        redrawRequested = true;
+        if (gameLoop != null) {
+            gameLoop.wake();
+        }
+    }
+
+    // GameLoop: was a redraw requested since the last call?
+    public boolean consumeRedrawRequest() {
+        if (!redrawRequested) {
+            return false;
+        }
+        redrawRequested = false;
+        return true;
+    }
+
+    // Keyboard focus goes to the canvas when it is the visible surface
+    @Override
+    public boolean requestFocusInWindow() {
+        if (canvas != null) {
+            return canvas.requestFocusInWindow();
+        }
+        return super.requestFocusInWindow();
+    }
+
     public boolean isTileBlocked(int col, int row) {
         return tileManager != null && tileManager.isBlocked(col, row);
     }
@@ -355,74 +753,121 @@ public class GamePanel extends JPanel {
     }
 
     // ===================== DRAW =====================
+    // Called once per frame by the GameLoop thread
+    public void render(float alpha) {
+        renderAlpha = alpha;
+        render();
+    }
+
+    public void render() {
+        if (canvas != null && canvas.renderFrame()) {
+            return;
+        }
+
+        // canvas not on screen (or disabled) -> let Swing paint on the EDT
+        repaint();
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
+
+        // the canvas covers the panel once it is drawing frames
+        if (canvas != null && canvas.isDisplayable()) {
+            return;
+        }
+
         Graphics2D g2 = (Graphics2D) g;
+        drawFrame(g2);
+        g2.dispose();
+    }
+
+    // Draws one full frame for the current game state
+    public void drawFrame(Graphics2D g2) {
+
+        int screenW = getWidth() > 0 ? getWidth() : screenWidth;
+        int screenH = getHeight() > 0 ? getHeight() : screenHeight;
 
-        if (gameState == STATE_MENU) {
+        // BufferStrategy buffers are not cleared for us
+        g2.setColor(getBackground());
+        g2.fillRect(0, 0, screenW, screenH);
+
+        if (gameState == STATE_LOADING) {
+            drawLoadingScreen(g2, screenW, screenH);
+        } else if (gameState == STATE_MENU) {
             mainMenuUI.draw(g2);
+
+            // world still decoding in the background
+            if (!worldReady) {
+                drawLoadingBar(g2, screenW, screenH, worldAssets.progress(),
+                        pendingStart ? "Starting..." : "Loading world...");
+            }
         } else if (gameState == STATE_SETTINGS) {
             drawSettingsScreen(g2);
         } else if (gameState == STATE_PLAY || gameState == STATE_INVENTORY) {
             drawGame(g2);
-
-            // Draw inventory if active
-            if (gameState == STATE_INVENTORY) {
-                ui.getInventoryUI().draw(g2);
-            }
         } else if (gameState == STATE_GAME_OVER) {
             gameOverUI.draw(g2);
         } else if (gameState == STATE_VICTORY) {
             victoryUI.draw(g2);
         }
-
-        g2.dispose();
     }
 
     private void drawGame(Graphics2D g2) {
 
-        tileManager.draw(g2);
-
-        int playerFeetY = player.worldY + player.solidArea.y + player.solidArea.height;
-        int playerFeetRow = playerFeetY / tileSize;
-
-        // ITEMS BEHIND PLAYER
-        itemManager.drawBehindPlayer(g2, playerFeetRow);
-
-        // OBJECTS BEHIND PLAYER
-        objectManager.drawBehindPlayer(g2, playerFeetRow);
-
-        // REGULAR MOBS (WhiteLady / SawTrap) - Draw before player
-        mobManager.draw(g2);
+        int screenW = getWidth() > 0 ? getWidth() : screenWidth;
+        int screenH = getHeight() > 0 ? getHeight() : screenHeight;
 
-        // -------------------------------
-        // DRAW WAVES ONLY ON MAP 3 (index 2) - Draw before player
-        // -------------------------------
-        if (currentMap == 2 && map3Spawner != null) {
-            map3Spawner.draw(g2);
+        // WORLD: tiles + the last snapshot published by update(),
+        // blended between the last two ticks
+        float alpha = renderAlpha;
+        RenderSnapshot snapshot = snapshots.latest();
+        MapData map = tileManager.getMap(snapshot.currentMap);
+        renderViewport.set(snapshot.cameraXAt(alpha), snapshot.cameraYAt(alpha),
+                screenW, screenH, tileSize, map.cols, map.rows);
+        tileManager.draw(g2, snapshot.currentMap, renderViewport);
+        snapshot.draw(g2, screenW, screenH, alpha);
+
+        // HUD/UI, from the same snapshot (inventory included)
+        ui.draw(g2, snapshot.hud);
+
+        if (snapshot.hud.gameState == STATE_PLAY) {
+            actionBarUI.draw(g2, snapshot.hud);
         }
+    }
 
-        // DRAW PLAYER (on top of mobs)
-        player.draw(g2);
+    private void drawLoadingScreen(Graphics2D g2, int screenW, int screenH) {
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, screenW, screenH);
 
-        // OBJECTS IN FRONT OF PLAYER
-        objectManager.drawInFrontOfPlayer(g2, playerFeetRow);
+        int loaded = menuAssets.getLoaded() + worldAssets.getLoaded();
+        int total = menuAssets.getTotal() + worldAssets.getTotal();
+        float progress = total == 0 ? 1f : loaded / (float) total;
 
-        // ITEMS IN FRONT
-        itemManager.drawInFrontOfPlayer(g2, playerFeetRow);
+        g2.setColor(Color.WHITE);
+        g2.setFont(new Font("Arial", Font.BOLD, 36));
+        String s = "Pinoy Quest";
+        int w = g2.getFontMetrics().stringWidth(s);
+        g2.drawString(s, (screenW - w) / 2, screenH / 2 - 40);
 
-        // PROJECTILES
-        for (TsinelasProjectile projectile : projectiles) {
-            projectile.draw(g2);
-        }
+        drawLoadingBar(g2, screenW, screenH, progress, "Loading " + loaded + " / " + total);
+    }
 
-        // HUD/UI
-        ui.draw(g2);
+    // thin progress bar near the bottom of the screen
+    private void drawLoadingBar(Graphics2D g2, int screenW, int screenH, float progress, String label) {
+        int barW = Math.min(400, screenW - 40);
+        int barH = 8;
+        int barX = (screenW - barW) / 2;
+        int barY = screenH - 80;
 
-        if (gameState == STATE_PLAY) {
-            actionBarUI.draw(g2);
-        }
+        g2.setColor(new Color(255, 255, 255, 60));
+        g2.fillRect(barX, barY, barW, barH);
+        g2.setColor(Color.WHITE);
+        g2.fillRect(barX, barY, (int) (barW * progress), barH);
+
+        g2.setFont(new Font("Arial", Font.PLAIN, 16));
+        int w = g2.getFontMetrics().stringWidth(label);
+        g2.drawString(label, (screenW - w) / 2, barY - 10);
     }
 
     private void drawSettingsScreen(Graphics2D g2) {
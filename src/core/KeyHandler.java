@@ -37,6 +37,14 @@ public class KeyHandler implements KeyListener {
 
     @Override
     public void keyPressed(KeyEvent e) {
+        handleKeyPressed(e);
+
+        // idle screens (menu, game over...) only redraw on input;
+        // requested after the key is handled so the new state is visible
+        gp.requestRedraw();
+    }
+
+    private void handleKeyPressed(KeyEvent e) {
 
         int code = e.getKeyCode();
 
@@ -248,6 +256,14 @@ public class KeyHandler implements KeyListener {
 
     @Override
     public void keyReleased(KeyEvent e) {
+        handleKeyReleased(e);
+
+        // idle screens (menu, game over...) only redraw on input;
+        // requested after the key is handled so the new state is visible
+        gp.requestRedraw();
+    }
+
+    private void handleKeyReleased(KeyEvent e) {
 
         int code = e.getKeyCode();
 
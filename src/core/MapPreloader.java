@@ -0,0 +1,96 @@
+package src.core;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import src.entity.mobs.Map3EnemySpawner;
+import src.tile.MapAssets;
+import src.tile.TileManager;
+
+// Gets a map ready in the background before the player walks into it.
+//
+// Player.handleTeleport() asks for the destination map while the player is
+// a few tiles away from a teleport tile. One loader thread then packs its
+// tileset and object sprites into a fresh atlas (MapAssets.pack) and the
+// frames of its mobs into the shared atlas. switchToMap() take()s the
+// result and only installs it. The map's layers and world state are
+// already in memory (see MapState).
+//
+// A map that was never asked for has its sprites packed in place by
+// switchToMap() (its layers are always in memory); one that is still being
+// prepared is waited for.
+public class MapPreloader {
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "MapPreloader");
+        t.setDaemon(true); // never keeps the game alive on exit
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    private final GamePanel gp;
+
+    // per map: the job in flight or done, null = nothing asked for.
+    // Its result is null if the map's sprites were still loaded when asked.
+    private final Future<?>[] pending = new Future<?>[TileManager.MAP_COUNT];
+    private final boolean[] withAssets = new boolean[TileManager.MAP_COUNT];
+
+    public MapPreloader(GamePanel gp) {
+        this.gp = gp;
+    }
+
+    // Start preparing mapIndex unless that already happened (update thread)
+    public void request(int mapIndex) {
+        if (mapIndex < 0 || mapIndex >= pending.length)
+            return;
+
+        boolean needAssets = !gp.mapAssets.isLoaded(mapIndex);
+        if (pending[mapIndex] != null && (withAssets[mapIndex] || !needAssets))
+            return;
+
+        if (pending[mapIndex] != null) {
+            // asked for while its sprites were still loaded; they are gone now
+            pending[mapIndex].cancel(false);
+        }
+
+        pending[mapIndex] = loader.submit(() -> prepare(mapIndex, needAssets));
+        withAssets[mapIndex] = needAssets;
+        System.out.println("[MapPreloader] Preparing map " + mapIndex);
+    }
+
+    // The map's packed sprites (waits if they aren't finished), or null if
+    // it was never asked for, didn't need them or failed
+    public MapAssets.Pack take(int mapIndex) {
+        Future<?> job = pending[mapIndex];
+        if (job == null)
+            return null;
+        pending[mapIndex] = null;
+
+        try {
+            return (MapAssets.Pack) job.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("[MapPreloader] Preparing map " + mapIndex + " failed: " + e.getCause());
+        }
+        return null;
+    }
+
+    // loader thread
+    private MapAssets.Pack prepare(int mapIndex, boolean needAssets) {
+        long start = System.nanoTime();
+
+        MapAssets.Pack assets = needAssets ? gp.mapAssets.pack(mapIndex) : null;
+
+        gp.mobManager.preloadSprites(mapIndex);
+        if (mapIndex == 2) {
+            Map3EnemySpawner.preloadSprites(gp); // waves start on entering map 3
+        }
+
+        System.out.println("[MapPreloader] Map " + mapIndex + " ready in " +
+                (System.nanoTime() - start) / 1_000_000 + " ms");
+        return assets;
+    }
+}
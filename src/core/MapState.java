@@ -0,0 +1,32 @@
+package src.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import src.entity.mobs.SawTrap;
+import src.entity.mobs.WhiteLady;
+
+// What one map keeps while the player is somewhere else.
+//
+// Its mobs are spawned the first time the map is entered after a new game
+// and then live here. Leaving the map freezes them (only the current map's
+// lists are updated), coming back resumes them where they were, so going
+// back and forth builds nothing and reads nothing.
+//
+// Items (ItemManager.items) and object animation (ObjectManager.placedObjects)
+// are kept per map by their managers and also only tick on the current map,
+// so they freeze and resume the same way.
+public class MapState {
+
+    public final int mapIndex;
+
+    public final List<WhiteLady> whiteLadies = new ArrayList<>();
+    public final List<SawTrap> sawTraps = new ArrayList<>();
+
+    // mobs spawned since the last new game
+    public boolean populated = false;
+
+    public MapState(int mapIndex) {
+        this.mapIndex = mapIndex;
+    }
+}
@@ -2,15 +2,19 @@ package src.entity;
 
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.awt.Graphics2D;
 import src.core.GamePanel;
+import src.render.RenderSnapshot;
+import src.render.Renderable;
 
-public class Entity {
+public class Entity implements Renderable {
 
     // WORLD POSITION
     public int worldX, worldY;
     public int speed;
 
+    // position at the start of the current tick (render interpolation)
+    public int prevWorldX, prevWorldY;
+
     // BASIC ANIMATION (for simple entities – player overrides this)
     public BufferedImage up1, up2, up3, up4, up5, up6, down1, left1, right1;
     public String direction;
@@ -29,8 +33,26 @@ public class Entity {
     // UPDATE ENTITY BEHAVIOR (TO BE OVERRIDDEN)
     public void update() {}
 
-    // DRAW ENTITY SPRITE (TO BE OVERRIDDEN)
-    public void draw(Graphics2D g2) {}
+    // SUBMIT ENTITY SPRITE TO THE RENDER SNAPSHOT (TO BE OVERRIDDEN)
+    public void submit(RenderSnapshot snapshot) {}
+
+    // DEPTH FOR THE RENDER QUEUE: bottom of the hitbox (the feet)
+    public int getDepthY() {
+        return worldY + solidArea.y + solidArea.height;
+    }
+
+    public void applyMotion(RenderSnapshot snapshot) {
+        snapshot.setMotion(prevWorldX, prevWorldY, worldX, worldY);
+    }
+
+    // RELEASE SHARED RESOURCES WHEN THE ENTITY IS REMOVED (TO BE OVERRIDDEN)
+    public void dispose() {}
+
+    // REMEMBER WHERE WE WERE BEFORE THIS TICK MOVES US
+    public void savePreviousPosition() {
+        prevWorldX = worldX;
+        prevWorldY = worldY;
+    }
 
     // ======== COLLISION HELPERS ========
 
@@ -1,10 +1,7 @@
 package src.entity;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.core.KeyHandler;
@@ -13,6 +10,9 @@ import src.entity.skills.SkillManager;
 import src.items.Item;
 import src.items.weapons.Hanger;
 import src.items.weapons.Tsinelas;
+import src.render.RenderSnapshot;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
 
 public class Player extends Entity {
 
@@ -32,22 +32,22 @@ public class Player extends Entity {
     private boolean channeling = false;
 
     // WALKING ANIMATION ARRAYS (6 frames)
-    public BufferedImage[] upFrames;
-    public BufferedImage[] downFrames;
-    public BufferedImage[] leftFrames;
-    public BufferedImage[] rightFrames;
+    public SpriteRegion[] upFrames;
+    public SpriteRegion[] downFrames;
+    public SpriteRegion[] leftFrames;
+    public SpriteRegion[] rightFrames;
 
     // IDLE ANIMATIONS
-    public BufferedImage[] idleUpFrames;
-    public BufferedImage[] idleDownFrames;
-    public BufferedImage[] idleLeftFrames;
-    public BufferedImage[] idleRightFrames;
+    public SpriteRegion[] idleUpFrames;
+    public SpriteRegion[] idleDownFrames;
+    public SpriteRegion[] idleLeftFrames;
+    public SpriteRegion[] idleRightFrames;
 
     // ATTACK ANIMATION ARRAYS (6 frames)
-    public BufferedImage[] attackUpFrames;
-    public BufferedImage[] attackDownFrames;
-    public BufferedImage[] attackLeftFrames;
-    public BufferedImage[] attackRightFrames;
+    public SpriteRegion[] attackUpFrames;
+    public SpriteRegion[] attackDownFrames;
+    public SpriteRegion[] attackLeftFrames;
+    public SpriteRegion[] attackRightFrames;
 
     // ANIMATION CONTROL
     int frameIndex = 0;
@@ -91,20 +91,20 @@ public class Player extends Entity {
         setDefaultValues();
 
         // initialize arrays and load base sprites
-        upFrames = new BufferedImage[6];
-        downFrames = new BufferedImage[6];
-        leftFrames = new BufferedImage[6];
-        rightFrames = new BufferedImage[6];
+        upFrames = new SpriteRegion[6];
+        downFrames = new SpriteRegion[6];
+        leftFrames = new SpriteRegion[6];
+        rightFrames = new SpriteRegion[6];
 
-        idleUpFrames = new BufferedImage[12];
-        idleDownFrames = new BufferedImage[12];
-        idleLeftFrames = new BufferedImage[12];
-        idleRightFrames = new BufferedImage[12];
+        idleUpFrames = new SpriteRegion[12];
+        idleDownFrames = new SpriteRegion[12];
+        idleLeftFrames = new SpriteRegion[12];
+        idleRightFrames = new SpriteRegion[12];
 
-        attackUpFrames = new BufferedImage[6];
-        attackDownFrames = new BufferedImage[6];
-        attackLeftFrames = new BufferedImage[6];
-        attackRightFrames = new BufferedImage[6];
+        attackUpFrames = new SpriteRegion[6];
+        attackDownFrames = new SpriteRegion[6];
+        attackLeftFrames = new SpriteRegion[6];
+        attackRightFrames = new SpriteRegion[6];
 
         loadPlayerImages();
 
@@ -328,17 +328,13 @@ public class Player extends Entity {
     }
 
     // ========================= IMAGE LOADING =========================
-    private BufferedImage loadImageFromFile(String path) {
-        try {
-            File file = new File(path);
-            if (!file.exists())
-                return null;
-            return ImageIO.read(file);
-
-        } catch (IOException e) {
-            System.err.println("Failed to load: " + path);
+    private SpriteRegion loadImageFromFile(String path) {
+        File file = new File(path);
+        if (!file.exists())
             return null;
-        }
+        // packed into the atlas at the on-screen sprite size (see submit)
+        int size = gamePanel.tileSize * 4;
+        return TextureAtlas.region(file.getPath(), size, size);
     }
 
     public void loadPlayerImages() {
@@ -360,7 +356,7 @@ public class Player extends Entity {
         for (int i = 0; i < 4; i++) {
             idleUpFrames[i] = loadImageFromFile(basePath + "idle" + File.separator + "idleB" + (i + 1) + ".png");
         }
-        BufferedImage lastUp = idleUpFrames[3] != null ? idleUpFrames[3] : idleUpFrames[0];
+        SpriteRegion lastUp = idleUpFrames[3] != null ? idleUpFrames[3] : idleUpFrames[0];
         for (int i = 4; i < 12; i++)
             idleUpFrames[i] = lastUp;
 
@@ -497,6 +493,9 @@ public class Player extends Entity {
     }
 
     // ========================= TELEPORT LOGIC =========================
+    // tiles from a teleport at which its destination map starts loading
+    private static final int TELEPORT_PRELOAD_TILES = 3;
+
     private void handleTeleport() {
         int playerCol = (worldX + solidArea.x + solidArea.width / 2) / gamePanel.tileSize;
         int playerRow = (worldY + solidArea.y + solidArea.height / 2) / gamePanel.tileSize;
@@ -508,6 +507,17 @@ public class Player extends Entity {
         int map2TP = gamePanel.tileManager.tilesetStart[1] + 1;
         int map3TP = gamePanel.tileManager.tilesetStart[1] + 4;
 
+        // getting close: start preparing the map behind the teleport
+        if (gamePanel.currentMap == 0 && isTileNear(playerCol, playerRow, map1TP)) {
+            gamePanel.preloadMap(1);
+        }
+        if (gamePanel.currentMap == 1 && isTileNear(playerCol, playerRow, map2TP)) {
+            gamePanel.preloadMap(0);
+        }
+        if (gamePanel.currentMap == 1 && isTileNear(playerCol, playerRow, map3TP)) {
+            gamePanel.preloadMap(2);
+        }
+
         if (gamePanel.currentMap == 0 && tileNum == map1TP) {
             gamePanel.switchToMap(1, 16, 1, "down");
             gamePanel.stopMusic();
@@ -527,6 +537,17 @@ public class Player extends Entity {
         }
     }
 
+    // is there a tileNum tile within TELEPORT_PRELOAD_TILES of (col, row)?
+    private boolean isTileNear(int col, int row, int tileNum) {
+        for (int r = row - TELEPORT_PRELOAD_TILES; r <= row + TELEPORT_PRELOAD_TILES; r++) {
+            for (int c = col - TELEPORT_PRELOAD_TILES; c <= col + TELEPORT_PRELOAD_TILES; c++) {
+                if (gamePanel.tileManager.getTileNum(c, r) == tileNum)
+                    return true;
+            }
+        }
+        return false;
+    }
+
     // ========================= SKILLS =========================
     private void handleSkillInput() {
         for (int slot = 0; slot < KeyHandler.SKILL_SLOT_COUNT; slot++) {
@@ -803,8 +824,8 @@ public class Player extends Entity {
     }
 
     // ========================= DRAW PLAYER SPRITE =========================
-    public void draw(Graphics2D g2) {
-        BufferedImage image = null;
+    public void submit(RenderSnapshot snapshot) {
+        SpriteRegion image = null;
 
         // Priority: Attack > Moving > Idle
         if (attacking && weapon != null && attackFrameIndex < 6 &&
@@ -884,7 +905,8 @@ public class Player extends Entity {
             this.screenX = drawX;
             this.screenY = drawY;
 
-            g2.drawImage(image, drawX, drawY, spriteWidth, spriteHeight, null);
+            // the player stays centered on screen, not camera-relative
+            snapshot.addScreenRegion(image, drawX, drawY);
         }
     }
 }
@@ -2,19 +2,31 @@ package src.entity.mobs;
 
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.RenderSnapshot;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.util.AssetCache;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
 
 public class BossEnemy extends Enemy {
 
-    private BufferedImage[] walkRight = new BufferedImage[12];
-    private BufferedImage[] walkLeft = new BufferedImage[12];
-    private BufferedImage[] attackRight = new BufferedImage[5];
-    private BufferedImage[] attackLeft = new BufferedImage[5];
+    // Frames live in the shared TextureAtlas
+    private static final String BASE_PATH =
+            "assets" + File.separator +
+            "sprites" + File.separator +
+            "mob" + File.separator +
+            "boss" + File.separator;
+    private static final String[] WALK_RIGHT_PATHS = AssetCache.framePaths(BASE_PATH + "WalkR", 12);
+    private static final String[] WALK_LEFT_PATHS = AssetCache.framePaths(BASE_PATH + "WalkL", 12);
+    private static final String[] ATTACK_RIGHT_PATHS = AssetCache.framePaths(BASE_PATH + "AttackR", 5);
+    private static final String[] ATTACK_LEFT_PATHS = AssetCache.framePaths(BASE_PATH + "AttackL", 5);
+
+    private SpriteRegion[] walkRight;
+    private SpriteRegion[] walkLeft;
+    private SpriteRegion[] attackRight;
+    private SpriteRegion[] attackLeft;
 
     private int animIndex = 0;
     private int animCounter = 0;
@@ -57,8 +69,7 @@ public class BossEnemy extends Enemy {
 
         this.hitbox = new Rectangle(0, 0, width, height);
 
-        loadWalkSprites();
-        loadAttackSprites();
+        loadSprites();
     }
 
     public BossEnemy(GamePanel gp, int worldX, int worldY, Player player, int tilesWide) {
@@ -81,6 +92,9 @@ public class BossEnemy extends Enemy {
         this.attackRange = (int) (42 * avgScale);
 
         this.hitbox = new Rectangle(0, 0, width, height);
+
+        // frames are packed at the draw size, so a new size needs new regions
+        loadSprites();
     }
 
     public void setScale(float newScale) {
@@ -94,91 +108,20 @@ public class BossEnemy extends Enemy {
     }
 
     // ===============================
-    // WALK SPRITES
-    // ===============================
-    private void loadWalkSprites() {
-
-        String basePath = "assets" + File.separator +
-                "sprites" + File.separator +
-                "mob" + File.separator +
-                "boss" + File.separator;
-
-        System.out.println("\n======== BossEnemy FRAME LOADING ========");
-        System.out.println("Base path: " + new File(basePath).getAbsolutePath());
-
-        for (int i = 0; i < 12; i++) {
-            String rightFileName = basePath + "WalkR" + (i + 1) + ".png";
-            String leftFileName = basePath + "WalkL" + (i + 1) + ".png";
-
-            try {
-                File rightFile = new File(rightFileName);
-                File leftFile = new File(leftFileName);
-
-                walkRight[i] = rightFile.exists() ? ImageIO.read(rightFile) : null;
-                walkLeft[i] = leftFile.exists() ? ImageIO.read(leftFile) : null;
-
-                if (!rightFile.exists()) System.out.println("Missing: " + rightFileName);
-                if (!leftFile.exists()) System.out.println("Missing: " + leftFileName);
-
-                System.out.println("Walk Frame " + (i + 1) +
-                        " | R=" + (walkRight[i] != null) +
-                        " | L=" + (walkLeft[i] != null));
-
-            } catch (IOException e) {
-                System.out.println("Failed to load walk frame " + (i + 1) + ": " + e.getMessage());
-                walkRight[i] = null;
-                walkLeft[i] = null;
-            }
-        }
-        System.out.println("=========================================\n");
-    }
-
-    // ===============================
-    // ATTACK SPRITES
+    // SPRITES (shared through the TextureAtlas)
     // ===============================
-    private void loadAttackSprites() {
-
-        String basePath = "assets" + File.separator +
-                "sprites" + File.separator +
-                "mob" + File.separator +
-                "boss" + File.separator;
-
-        System.out.println("\n======== BossEnemy ATTACK FRAME LOADING ========");
-        System.out.println("Base path: " + new File(basePath).getAbsolutePath());
-
-        for (int i = 0; i < 5; i++) {
-            String rightFileName = basePath + "AttackR" + (i + 1) + ".png";
-            String leftFileName = basePath + "AttackL" + (i + 1) + ".png";
-
-            try {
-                File rightFile = new File(rightFileName);
-                File leftFile = new File(leftFileName);
-
-                attackRight[i] = rightFile.exists() ? ImageIO.read(rightFile) : null;
-                attackLeft[i] = leftFile.exists() ? ImageIO.read(leftFile) : null;
-
-                if (!rightFile.exists()) System.out.println("Missing: " + rightFileName);
-                if (!leftFile.exists()) System.out.println("Missing: " + leftFileName);
-
-                System.out.println("Attack Frame " + (i + 1) +
-                        " | R=" + (attackRight[i] != null) +
-                        " | L=" + (attackLeft[i] != null));
-
-            } catch (IOException e) {
-                System.out.println("Failed to load attack frame " + (i + 1) + ": " + e.getMessage());
-                attackRight[i] = null;
-                attackLeft[i] = null;
-            }
-        }
-        System.out.println("=========================================\n");
+    private void loadSprites() {
+        walkRight = TextureAtlas.regions(WALK_RIGHT_PATHS, width, height, false);
+        walkLeft = TextureAtlas.regions(WALK_LEFT_PATHS, width, height, false);
+        attackRight = TextureAtlas.regions(ATTACK_RIGHT_PATHS, width, height, false);
+        attackLeft = TextureAtlas.regions(ATTACK_LEFT_PATHS, width, height, false);
     }
 
     @Override
     public void attack() {
+        // range already checked by the behavior tree (AttackPlayerNode)
         if (dead || attackCooldown > 0 || isAttacking) return;
 
-        if (!isInAttackRange()) return;
-
         isAttacking = true;
         attackAnimIndex = 0;
         attackAnimCounter = 0;
@@ -193,17 +136,8 @@ public class BossEnemy extends Enemy {
     public void moveTowards(Player p) {
         if (dead || isAttacking) return;
 
-        int dx = p.worldX - worldX;
-        int dy = p.worldY - worldY;
-        double dist = Math.sqrt(dx * dx + dy * dy);
-
-        if (dist == 0) return;
-
-        double nx = dx / dist;
-        double ny = dy / dist;
-
-        worldX += nx * speed * 1.2;
-        worldY += ny * speed * 1.2;
+        // around walls and objects (shared flow field, see Enemy.chase)
+        if (!chase(p, speed * 1.2)) return;
 
         animCounter++;
         if (animCounter >= 5) {
@@ -231,12 +165,9 @@ public class BossEnemy extends Enemy {
     }
 
     @Override
-    public void draw(Graphics2D g2) {
-
-        int screenX = worldX - gp.cameraX;
-        int screenY = worldY - gp.cameraY;
+    public void submit(RenderSnapshot snapshot) {
 
-        BufferedImage frame;
+        SpriteRegion frame;
         boolean facingLeft = player.worldX < worldX;
 
         if (isAttacking) {
@@ -246,13 +177,12 @@ public class BossEnemy extends Enemy {
         }
 
         if (frame != null) {
-            g2.drawImage(frame, screenX, screenY, width, height, null);
+            snapshot.addRegion(frame, worldX, worldY);
         } else {
-            g2.setColor(isAttacking ? Color.RED : Color.MAGENTA);
-            g2.fillRect(screenX, screenY, width, height);
+            snapshot.addRect(isAttacking ? Color.RED : Color.MAGENTA, worldX, worldY, width, height);
         }
 
-        drawHealthBar(g2, screenX, screenY);
+        submitHealthBar(snapshot);
     }
 
     @Override
@@ -2,17 +2,27 @@ package src.entity.mobs;
 
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.RenderSnapshot;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.util.AssetCache;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
 
 public class DogEnemy extends Enemy {
 
-    private BufferedImage[] walkRight = new BufferedImage[10];
-    private BufferedImage[] walkLeft = new BufferedImage[10];
+    // Frames live in the shared TextureAtlas
+    private static final String BASE_PATH =
+            "assets" + File.separator +
+            "sprites" + File.separator +
+            "mob" + File.separator +
+            "dog" + File.separator;
+    private static final String[] WALK_RIGHT_PATHS = AssetCache.framePaths(BASE_PATH + "walkR", 10);
+    private static final String[] WALK_LEFT_PATHS = AssetCache.framePaths(BASE_PATH + "walkL", 10);
+
+    private SpriteRegion[] walkRight;
+    private SpriteRegion[] walkLeft;
 
     private int animIndex = 0;
     private int animCounter = 0;
@@ -36,48 +46,18 @@ public class DogEnemy extends Enemy {
         loadWalkSprites();
     }
 
+    // Pack the frames before the first wave spawns (any thread, see
+    // MapPreloader); the constructor then only looks them up
+    public static void preloadFrames(GamePanel gp) {
+        int size = gp.tileSize * 2; // same draw size as the constructor
+        TextureAtlas.regions(WALK_RIGHT_PATHS, size, size, false);
+        TextureAtlas.regions(WALK_LEFT_PATHS, size, size, false);
+    }
+
     private void loadWalkSprites() {
-        String basePath =
-                "assets" + File.separator +
-                "sprites" + File.separator +
-                "mob" + File.separator +
-                "dog" + File.separator;
-
-        System.out.println("\n======== DogEnemy FRAME LOADING ========");
-        System.out.println("Base path: " + basePath);
-
-        for (int i = 0; i < 10; i++) {
-            String rightFileName = basePath + "walkR" + (i + 1) + ".png";
-            String leftFileName = basePath + "walkL" + (i + 1) + ".png";
-
-            try {
-                File rightFile = new File(rightFileName);
-                File leftFile = new File(leftFileName);
-
-                if (rightFile.exists()) {
-                    walkRight[i] = ImageIO.read(rightFile);
-                } else {
-                    System.out.println("File not found: " + rightFileName);
-                    walkRight[i] = null;
-                }
-
-                if (leftFile.exists()) {
-                    walkLeft[i] = ImageIO.read(leftFile);
-                } else {
-                    System.out.println("File not found: " + leftFileName);
-                    walkLeft[i] = null;
-                }
-
-                System.out.println("Frame " + (i + 1) +
-                        " | R=" + (walkRight[i] != null) +
-                        " | L=" + (walkLeft[i] != null));
-            } catch (IOException e) {
-                System.out.println("Failed to load frame " + (i + 1) + ": " + e.getMessage());
-                walkRight[i] = null;
-                walkLeft[i] = null;
-            }
-        }
-        System.out.println("=========================================\n");
+        // packed once at the draw size, every mob of this type shares them
+        walkRight = TextureAtlas.regions(WALK_RIGHT_PATHS, width, height, false);
+        walkLeft = TextureAtlas.regions(WALK_LEFT_PATHS, width, height, false);
     }
 
     @Override
@@ -93,19 +73,10 @@ public class DogEnemy extends Enemy {
         if (dead)
             return;
 
-        int dx = p.worldX - worldX;
-        int dy = p.worldY - worldY;
-        double dist = Math.sqrt(dx * dx + dy * dy);
-
-        if (dist == 0)
+        // around walls and objects (shared flow field, see Enemy.chase)
+        if (!chase(p, speed))
             return;
 
-        double nx = dx / dist;
-        double ny = dy / dist;
-
-        worldX += nx * speed;
-        worldY += ny * speed;
-
         // Animation speed
         animCounter++;
         if (animCounter >= 4) {
@@ -117,12 +88,9 @@ public class DogEnemy extends Enemy {
     }
 
     @Override
-    public void draw(Graphics2D g2) {
-
-        int screenX = worldX - gp.cameraX;
-        int screenY = worldY - gp.cameraY;
+    public void submit(RenderSnapshot snapshot) {
 
-        BufferedImage frame;
+        SpriteRegion frame;
 
         // Choose facing direction
         if (player.worldX < worldX) {
@@ -133,12 +101,11 @@ public class DogEnemy extends Enemy {
 
         // Only draw if sprite loaded successfully
         if (frame != null) {
-            g2.drawImage(frame, screenX, screenY, width, height, null);
+            snapshot.addRegion(frame, worldX, worldY);
         } else {
             // Fallback: draw a colored rectangle if sprite failed to load
-            g2.setColor(Color.YELLOW);
-            g2.fillRect(screenX, screenY, width, height);
+            snapshot.addRect(Color.YELLOW, worldX, worldY, width, height);
         }
-        drawHealthBar(g2, screenX, screenY);
+        submitHealthBar(snapshot);
     }
 }
@@ -1,10 +1,10 @@
 package src.entity.mobs;
 
 import java.awt.Color;
-import java.awt.Graphics2D;
 
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.RenderSnapshot;
 
 public class DummyEnemy extends Enemy {
 
@@ -25,20 +25,11 @@ public class DummyEnemy extends Enemy {
     }
 
     @Override
-    public void draw(Graphics2D g2) {
+    public void submit(RenderSnapshot snapshot) {
 
-        // Convert world -> screen (camera transform)
-        int screenX = worldX - gp.cameraX;
-        int screenY = worldY - gp.cameraY;
+        // Off-screen records are culled by the renderer
+        snapshot.addRect(Color.RED, worldX, worldY, 32, 32);
 
-        // Draw only when inside viewport
-        if (screenX >= -32 && screenX <= gp.screenWidth &&
-            screenY >= -32 && screenY <= gp.screenHeight) {
-
-            g2.setColor(Color.RED);
-            g2.fillRect(screenX, screenY, 32, 32);
-        }
-
-         drawHealthBar(g2, screenX, screenY);
+        submitHealthBar(snapshot);
     }
 }
@@ -1,21 +1,32 @@
 package src.entity.mobs;
 
+import src.ai.Blackboard;
 import src.ai.EnemyAI;
+import src.ai.FlowField;
+import src.ai.Pathfinder;
+import src.ai.WalkGrid;
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.RenderSnapshot;
+import src.render.Renderable;
 
 import java.awt.*;
 import java.util.List;
 
-public abstract class Enemy {
+public abstract class Enemy implements Renderable {
 
     protected GamePanel gp;
     protected Player player;
-    protected EnemyAI ai;
+    // shared tree of this enemy type, plus this enemy's own state for it
+    protected EnemyAI ai = EnemyAI.CHASER;
+    protected final Blackboard blackboard = new Blackboard(this);
 
     // ===== WORLD POSITION =====
     public int worldX, worldY;
 
+    // position at the start of the current tick (render interpolation)
+    public int prevWorldX, prevWorldY;
+
     // ===== ENEMY SIZE =====
     protected int width = 32;
     protected int height = 32;
@@ -39,6 +50,14 @@ public abstract class Enemy {
     protected int patrolIndex = 0;
     protected int[][] patrolPoints;
 
+    // ===== A* ROUTE (moveTo) =====
+    // a patrol point counts as reached this close (pixels)
+    private static final int ARRIVE_DISTANCE = 4;
+    private int[] route;        // tiles to walk through, null = none yet
+    private int routeStep;      // index of the tile being walked to
+    private int routeGoal;      // goal tile the route was found for
+    private int routeStamp;     // Pathfinder stamp it was found on
+
     // ==========================
     // CONSTRUCTOR
     // ==========================
@@ -48,8 +67,8 @@ public abstract class Enemy {
 
         this.worldX = worldX;
         this.worldY = worldY;
-
-        ai = new EnemyAI(this);
+        this.prevWorldX = worldX;
+        this.prevWorldY = worldY;
     }
 
     // ==========================
@@ -57,7 +76,7 @@ public abstract class Enemy {
     // ==========================
     public void update() {
         if (!dead) {
-            ai.update();
+            ai.update(blackboard);
         }
     }
 
@@ -68,32 +87,142 @@ public abstract class Enemy {
         return player;
     }
 
-    public boolean canSeePlayer() {
-        int dx = player.worldX - worldX;
-        int dy = player.worldY - worldY;
+    // squared, so range checks never need a square root
+    public long distanceSqToPlayer() {
+        long dx = player.worldX - worldX;
+        long dy = player.worldY - worldY;
+        return dx * dx + dy * dy;
+    }
 
-        double dist = Math.sqrt(dx * dx + dy * dy);
-        return dist < visionRange;
+    public boolean canSeePlayer() {
+        return distanceSqToPlayer() < (long) visionRange * visionRange;
     }
 
     public boolean isInAttackRange() {
-        int dx = player.worldX - worldX;
-        int dy = player.worldY - worldY;
-
-        return Math.sqrt(dx * dx + dy * dy) < attackRange;
+        return distanceSqToPlayer() < (long) attackRange * attackRange;
     }
 
     public void moveTowards(Player p) {
         if (dead) return;
 
-        int dx = p.worldX - worldX;
-        int dy = p.worldY - worldY;
+        chase(p, speed);
+    }
+
+    // One step of `step` pixels after the player along the shared flow field
+    // (tile by tile around walls and objects). The last tile, or an enemy
+    // where the field doesn't reach, goes straight at the player as before.
+    // False if already on top of the player.
+    protected boolean chase(Player p, double step) {
+        FlowField field = gp.flowField;
+        int centerX = getCenterX();
+        int centerY = getCenterY();
+
+        int next = field != null ? field.nextTile(centerX, centerY) : -1;
+        int dx, dy;
+        if (next < 0 || field.distance(Math.floorDiv(centerX, gp.tileSize),
+                Math.floorDiv(centerY, gp.tileSize)) <= 1) {
+            dx = p.worldX - worldX;
+            dy = p.worldY - worldY;
+        } else {
+            dx = field.centerX(next) - centerX;
+            dy = field.centerY(next) - centerY;
+        }
+
+        return stepTowards(dx, dy, step);
+    }
 
+    // One step of `step` pixels in direction (dx, dy), stopped by walls and
+    // objects. False if (dx, dy) is zero.
+    private boolean stepTowards(int dx, int dy, double step) {
         double dist = Math.sqrt(dx * dx + dy * dy);
-        if (dist == 0) return;
+        if (dist == 0) return false;
+
+        int stepX = (int) Math.round((dx / dist) * step);
+        int stepY = (int) Math.round((dy / dist) * step);
+
+        // one already inside something (spawned there) may walk out of it
+        if (isBlockedAt(worldX, worldY)) {
+            worldX += stepX;
+            worldY += stepY;
+            return true;
+        }
 
-        worldX += (dx / dist) * speed;
-        worldY += (dy / dist) * speed;
+        // one axis at a time; blocked on one, slide along the wall on the
+        // other at full speed (a small step would round down to nothing)
+        int full = (int) Math.ceil(step);
+        boolean blockedX = stepX != 0 && isBlockedAt(worldX + stepX, worldY);
+        boolean blockedY = stepY != 0 && isBlockedAt(worldX, worldY + stepY);
+        if (blockedX && !blockedY && dy != 0) stepY = Integer.signum(dy) * full;
+        if (blockedY && !blockedX && dx != 0) stepX = Integer.signum(dx) * full;
+
+        if (!blockedX && !isBlockedAt(worldX + stepX, worldY)) worldX += stepX;
+        if (!blockedY && !isBlockedAt(worldX, worldY + stepY)) worldY += stepY;
+        return true;
+    }
+
+    // Walk towards the top-left position (targetX, targetY) along an A*
+    // route (see Pathfinder), e.g. a patrol point or a spot the boss moves
+    // to. Waits while the route is still being searched; with no route at
+    // all it heads straight there. True once within ARRIVE_DISTANCE.
+    protected boolean moveTo(int targetX, int targetY, double step) {
+        int dx = targetX - worldX;
+        int dy = targetY - worldY;
+        if (dx * dx + dy * dy < ARRIVE_DISTANCE * ARRIVE_DISTANCE) {
+            route = null;
+            return true;
+        }
+
+        Pathfinder pathfinder = gp.pathfinder;
+        WalkGrid grid = gp.walkGrid;
+        int col = grid.colAt(getCenterX());
+        int row = grid.rowAt(getCenterY());
+        int goalCol = grid.colAt(targetX + width / 2);
+        int goalRow = grid.rowAt(targetY + height / 2);
+
+        if (col == goalCol && row == goalRow) {
+            route = null; // last tile: straight in
+            stepTowards(dx, dy, step);
+            return false;
+        }
+
+        // the old route is no good if the goal or the grid changed, or the
+        // enemy was pushed off it (more than a tile away from its next tile)
+        if (route != null) {
+            int next = route[Math.min(routeStep, route.length - 1)];
+            if (routeGoal != goalRow * grid.cols + goalCol || routeStamp != pathfinder.getStamp() ||
+                    Math.abs(next % grid.cols - col) > 1 || Math.abs(next / grid.cols - row) > 1) {
+                route = null;
+            }
+        }
+
+        if (route == null) {
+            int[] path = pathfinder.findPath(col, row, goalCol, goalRow);
+            if (path == null)
+                return false; // searching, ask again next tick
+            if (path == Pathfinder.NO_PATH || path.length == 0) {
+                stepTowards(dx, dy, step);
+                return false;
+            }
+            route = path;
+            routeStep = 0;
+            routeGoal = goalRow * grid.cols + goalCol;
+            routeStamp = pathfinder.getStamp();
+        }
+
+        // reached the next tile of the route: aim for the one after
+        while (routeStep < route.length - 1 && route[routeStep] == row * grid.cols + col) {
+            routeStep++;
+        }
+        int next = route[routeStep];
+        stepTowards(grid.centerX(next) - getCenterX(), grid.centerY(next) - getCenterY(), step);
+        return false;
+    }
+
+    // Would the enemy's feet (half a tile around its centre) hit a wall or
+    // object at top-left (x, y)?
+    private boolean isBlockedAt(int x, int y) {
+        int size = gp.tileSize / 2;
+        return gp.collision.isAreaBlocked(x + width / 2 - size / 2, y + height / 2 - size / 2, size, size);
     }
 
     public void attack() {
@@ -116,16 +245,8 @@ public abstract class Enemy {
         int targetX = patrolPoints[patrolIndex][0];
         int targetY = patrolPoints[patrolIndex][1];
 
-        int dx = targetX - worldX;
-        int dy = targetY - worldY;
-
-        double dist = Math.sqrt(dx * dx + dy * dy);
-        if (dist == 0) return;
-
-        worldX += (dx / dist) * speed;
-        worldY += (dy / dist) * speed;
-
-        if (dist < 4) {
+        // around walls and objects (A* route, see moveTo)
+        if (moveTo(targetX, targetY, speed)) {
             patrolIndex = (patrolIndex + 1) % patrolPoints.length;
         }
     }
@@ -178,21 +299,35 @@ public abstract class Enemy {
         }
     }
 
+    // Release shared sprites when the enemy is removed (overridden by subclasses)
+    public void dispose() {}
+
+    public void savePreviousPosition() {
+        prevWorldX = worldX;
+        prevWorldY = worldY;
+    }
+
+    // Depth for the render queue: bottom of the hitbox
+    public int getDepthY() {
+        return worldY + hitbox.y + hitbox.height;
+    }
+
+    public void applyMotion(RenderSnapshot snapshot) {
+        snapshot.setMotion(prevWorldX, prevWorldY, worldX, worldY);
+    }
+
     // ==========================
     // HEALTH BAR DRAW
     // ==========================
-    protected void drawHealthBar(Graphics2D g2, int screenX, int screenY) {
+    protected void submitHealthBar(RenderSnapshot snapshot) {
 
         int barWidth = width;
         int barHeight = 6;
 
         int hpWidth = (int)((double)health / maxHealth * barWidth);
 
-        g2.setColor(Color.BLACK);
-        g2.fillRect(screenX, screenY - 10, barWidth, barHeight);
-
-        g2.setColor(Color.RED);
-        g2.fillRect(screenX, screenY - 10, hpWidth, barHeight);
+        snapshot.addRect(Color.BLACK, worldX, worldY - 10, barWidth, barHeight);
+        snapshot.addRect(Color.RED, worldX, worldY - 10, hpWidth, barHeight);
     }
 
     // ==========================
@@ -204,6 +339,8 @@ public abstract class Enemy {
     public void setSpeed(int s) { speed = s; }
     public void setVisionRange(int r) { visionRange = r; }
     public void setAttackRange(int r) { attackRange = r; }
+    public int getVisionRange() { return visionRange; }
+    public int getAttackRange() { return attackRange; }
 
     public void setPatrolPoints(int[][] pts) {
         hasPatrol = true;
@@ -211,5 +348,5 @@ public abstract class Enemy {
     }
 
     // Must be implemented by subclasses
-    public abstract void draw(Graphics2D g2);
+    public abstract void submit(RenderSnapshot snapshot);
 }
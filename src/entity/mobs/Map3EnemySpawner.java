@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Random;
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.RenderQueue;
 
 public class Map3EnemySpawner {
 
@@ -40,6 +41,12 @@ public class Map3EnemySpawner {
         this.gp = gp;
     }
 
+    // Warm the frames of the wave enemies before map 3 is entered
+    public static void preloadSprites(GamePanel gp) {
+        TambayEnemy.preloadFrames(gp);
+        DogEnemy.preloadFrames(gp);
+    }
+
     // Called once when entering map 3
     public void startWaves(Player player) {
         if (wavesStarted) return;
@@ -81,7 +88,7 @@ public class Map3EnemySpawner {
         long elapsed = now - waveStartTime;
 
         // Update enemies
-        enemies.removeIf(e -> e.isDead());
+        removeDeadEnemies();
         for (Enemy e : enemies) e.update();
         for (Enemy e : enemies) e.avoidOverlap(enemies);
 
@@ -124,12 +131,18 @@ public class Map3EnemySpawner {
         System.out.println("[BOSS] Boss spawned!");
     }
 
+    // Called at the start of each tick, before anything moves
+    public void savePreviousPositions() {
+        for (Enemy e : enemies) e.savePreviousPosition();
+        if (boss != null) boss.savePreviousPosition();
+    }
+
     // Drawing all mobs
-    public void draw(java.awt.Graphics2D g2) {
-        for (Enemy e : enemies) e.draw(g2);
+    public void queue(RenderQueue queue) {
+        for (Enemy e : enemies) queue.add(e);
 
         if (boss != null && !boss.isDead()) {
-            boss.draw(g2);
+            queue.add(boss);
         }
     }
 
@@ -151,6 +164,7 @@ public class Map3EnemySpawner {
                 enemy.damage(damage);
                 if (enemy.isDead()) {
                     iterator.remove();
+                    enemy.dispose();
                 }
                 hitAny = true;
             }
@@ -167,6 +181,7 @@ public class Map3EnemySpawner {
                 boss.damage(damage);
                 if (boss.isDead()) {
                     gp.ui.showMessage("Boss defeated!");
+                    boss.dispose();
                 }
                 hitAny = true;
             }
@@ -175,6 +190,15 @@ public class Map3EnemySpawner {
         return hitAny;
     }
 
+    // Drop dead enemies and dispose() them
+    private void removeDeadEnemies() {
+        enemies.removeIf(e -> {
+            if (!e.isDead()) return false;
+            e.dispose();
+            return true;
+        });
+    }
+
     private void showWaveMessage() {
         gp.ui.showMessage("WAVE " + currentWave);
     }
@@ -182,7 +206,7 @@ public class Map3EnemySpawner {
     // Check if all regular enemies are defeated
     public boolean areAllEnemiesDefeated() {
         // Remove dead enemies first
-        enemies.removeIf(e -> e.isDead());
+        removeDeadEnemies();
         // All enemies defeated if list is empty
         return enemies.isEmpty();
     }
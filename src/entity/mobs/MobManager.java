@@ -1,35 +1,32 @@
 package src.entity.mobs;
 
 import src.core.GamePanel;
+import src.core.MapState;
+import src.render.RenderQueue;
+import src.tile.MapFile;
 import src.tile.TileManager;
 
-import java.awt.Graphics2D;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
+import java.nio.ShortBuffer;
 
 public class MobManager {
 
     private final GamePanel gp;
 
-    // mob map: [mapIndex][col][row]
-    private final int[][][] mobLayout;
+    // mob map per map index, row-major (row * cols + col), same size as
+    // that map's tile grid
+    private final short[][] mobLayout;
+    private final int[] layoutCols;
 
     // Mob IDs
     public static final int MOB_NONE      = 0;
     public static final int MOB_WHITELADY = 1;
     public static final int MOB_SAWTRAP   = 2;
 
-    private static final String MOB_MAP_DIR =
-            
-            "assets" + File.separator +
-            "maps" + File.separator;
-
     public MobManager(GamePanel gp) {
         this.gp = gp;
 
-        mobLayout = new int[TileManager.MAP_COUNT][gp.maxWorldCol][gp.maxWorldRow];
+        mobLayout = new short[TileManager.MAP_COUNT][];
+        layoutCols = new int[TileManager.MAP_COUNT];
 
         loadMobMaps();  // only loads layout files
         // no spawning here anymore — prevents duplication
@@ -40,86 +37,76 @@ public class MobManager {
     // ============================================================
     private void loadMobMaps() {
         for (int mapIndex = 0; mapIndex < TileManager.MAP_COUNT; mapIndex++) {
-            String fileName = MOB_MAP_DIR + "mobsmap" + (mapIndex + 1) + ".txt";
-            loadMobMapFile(mapIndex, fileName);
+            loadMobMap(mapIndex);
         }
     }
 
-    private void loadMobMapFile(int mapIndex, String filePath) {
-        File file = new File(filePath);
-        if (!file.exists()) {
-            System.out.println("[MobManager] No mob map file: " + filePath + " (skipping)");
+    // mobs layer of the map file, same size as the map's tile grid
+    private void loadMobMap(int mapIndex) {
+        MapFile file = gp.tileManager.getMapFile(mapIndex);
+        ShortBuffer layer = file.layer(MapFile.LAYER_MOBS);
+        if (layer == null) {
+            System.out.println("[MobManager] No mob map for map " + mapIndex + " (skipping)");
             return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            int row = 0;
-
-            while (row < gp.maxWorldRow) {
-                String line = br.readLine();
-                if (line == null) break;
-
-                String[] numbers = line.trim().split("\\s+");
-                int col = 0;
-
-                for (; col < numbers.length && col < gp.maxWorldCol; col++) {
-                    try {
-                        mobLayout[mapIndex][col][row] = Integer.parseInt(numbers[col]);
-                    } catch (NumberFormatException e) {
-                        mobLayout[mapIndex][col][row] = MOB_NONE;
-                    }
-                }
-
-                while (col < gp.maxWorldCol) {
-                    mobLayout[mapIndex][col][row] = MOB_NONE;
-                    col++;
-                }
-
-                row++;
-            }
+        short[] layout = new short[file.cols * file.rows];
+        layer.get(layout);
 
-            while (row < gp.maxWorldRow) {
-                for (int col = 0; col < gp.maxWorldCol; col++) {
-                    mobLayout[mapIndex][col][row] = MOB_NONE;
-                }
-                row++;
-            }
+        mobLayout[mapIndex] = layout;
+        layoutCols[mapIndex] = file.cols;
+        System.out.println("[MobManager] Loaded mob map for map " + mapIndex);
+    }
 
-            System.out.println("[MobManager] Loaded mob map: " + filePath);
+    // ============================================================
+    //                   MOBS PER MAP
+    // ============================================================
 
-        } catch (IOException e) {
-            System.err.println("[MobManager] Failed to read mob map: " + filePath);
-            e.printStackTrace();
+    // Mobs of a map that is being entered: spawned on the first visit,
+    // otherwise resumed just as they were left
+    public void enterMap(MapState state) {
+        if (state.populated) {
+            System.out.println("[MobManager] Resuming mobs for map " + state.mapIndex);
+            return;
         }
+        spawnMobs(state);
+        state.populated = true;
     }
 
-    // ============================================================
-    //                   RESPAWN MOBS PER MAP
-    // ============================================================
-    public void spawnMobsForMap(int mapIndex) {
-        if (mapIndex < 0 || mapIndex >= TileManager.MAP_COUNT) return;
+    // Drop a map's mobs (releasing their sprites); respawned on next entry
+    public void clearMap(MapState state) {
+        for (WhiteLady wl : state.whiteLadies) wl.dispose();
+        for (SawTrap st : state.sawTraps) st.dispose();
+        state.whiteLadies.clear();
+        state.sawTraps.clear();
+        state.populated = false;
+    }
 
-        System.out.println("[MobManager] Respawning mobs for map " + mapIndex);
+    private void spawnMobs(MapState state) {
+        int mapIndex = state.mapIndex;
+        System.out.println("[MobManager] Spawning mobs for map " + mapIndex);
 
-        // Always clear current mobs before spawning
-        gp.whiteLadies.clear();
-        gp.sawTraps.clear();
+        short[] layout = mobLayout[mapIndex];
+        if (layout == null) return; // no mob file for this map
 
-        for (int col = 0; col < gp.maxWorldCol; col++) {
-            for (int row = 0; row < gp.maxWorldRow; row++) {
+        int cols = layoutCols[mapIndex];
+        int rows = layout.length / cols;
 
-                int mobId = mobLayout[mapIndex][col][row];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+
+                int mobId = layout[row * cols + col];
                 if (mobId == MOB_NONE) continue;
 
                 int worldX = col * gp.tileSize;
                 int worldY = row * gp.tileSize;
 
                 switch (mobId) {
-                    case MOB_WHITELADY -> gp.whiteLadies.add(
+                    case MOB_WHITELADY -> state.whiteLadies.add(
                             new WhiteLady(gp, worldX, worldY)
                     );
 
-                    case MOB_SAWTRAP -> gp.sawTraps.add(
+                    case MOB_SAWTRAP -> state.sawTraps.add(
                             new SawTrap(gp, worldX, worldY)
                     );
                 }
@@ -127,6 +114,23 @@ public class MobManager {
         }
     }
 
+    // Pack the frames of every mob type placed on a map, so spawning them
+    // later only looks them up (any thread, see MapPreloader)
+    public void preloadSprites(int mapIndex) {
+        short[] layout = mobLayout[mapIndex];
+        if (layout == null) return;
+
+        boolean whiteLady = false;
+        boolean sawTrap = false;
+        for (short mobId : layout) {
+            if (mobId == MOB_WHITELADY) whiteLady = true;
+            if (mobId == MOB_SAWTRAP) sawTrap = true;
+        }
+
+        if (whiteLady) WhiteLady.preloadFrames(gp);
+        if (sawTrap) SawTrap.preloadFrames(gp);
+    }
+
     // ============================================================
     //                        UPDATE & DRAW
     // ============================================================
@@ -135,8 +139,8 @@ public class MobManager {
         for (SawTrap st : gp.sawTraps) st.update();
     }
 
-    public void draw(Graphics2D g2) {
-        for (WhiteLady wl : gp.whiteLadies) wl.draw(g2);
-        for (SawTrap st : gp.sawTraps) st.draw(g2);
+    public void queue(RenderQueue queue) {
+        for (WhiteLady wl : gp.whiteLadies) queue.add(wl);
+        for (SawTrap st : gp.sawTraps) queue.add(st);
     }
 }
@@ -2,12 +2,13 @@ package src.entity.mobs;
 
 import src.entity.Entity;
 import src.core.GamePanel;
+import src.render.RenderSnapshot;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.util.AssetCache;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.File;
-import java.io.IOException;
 import java.util.Random;
 
 public class SawTrap extends Entity {
@@ -16,9 +17,13 @@ public class SawTrap extends Entity {
 
     private final GamePanel gamePanel;
 
-    private BufferedImage[] frames;
+    private SpriteRegion[] frames;
     private boolean spritesLoaded = false;
 
+    // Frames live in the shared TextureAtlas
+    private static final String SAW_PREFIX = "assets/sprites/mob/trap/saw";
+    private static String[] sawFramePaths;
+
     private int frameIndex = 0;
     private int frameCounter = 0;
     private final int frameSpeed = 8;
@@ -82,31 +87,35 @@ public class SawTrap extends Entity {
     }
     
     private void loadFrames() {
-        try {
-            // Load all frame files saw1.png, saw2.png, saw3.png...
-            int count = 0;
-            while (true) {
-                File f = new File("assets/sprites/mob/trap/saw" + (count + 1) + ".png");
-                if (!f.exists()) break;
-                count++;
-            }
-
-            if (count == 0) {
-                System.err.println("SawTrap: No saw frames found!");
-                return;
-            }
+        // frames saw1.png, saw2.png, ... until the first missing one
+        String[] framePaths = sawFramePaths();
+        if (framePaths.length == 0) {
+            System.err.println("SawTrap: No saw frames found!");
+            return;
+        }
 
-            frames = new BufferedImage[count];
-            for (int i = 0; i < count; i++) {
-                frames[i] = ImageIO.read(new File("assets/sprites/mob/trap/saw" + (i + 1) + ".png"));
-            }
+        frames = TextureAtlas.regions(framePaths, renderWidth, renderHeight, false);
+        spritesLoaded = true;
+    }
 
-            spritesLoaded = true;
-            System.out.println("SawTrap loaded " + count + " frames.");
+    // Pack the frames before the first trap spawns (any thread, see
+    // MapPreloader); the constructor then only looks them up
+    public static void preloadFrames(GamePanel gp) {
+        // same draw size as the constructor
+        TextureAtlas.regions(sawFramePaths(), gp.tileSize, gp.tileSize * 2, false);
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+    // the directory is only scanned once for all traps
+    private static synchronized String[] sawFramePaths() {
+        if (sawFramePaths == null) {
+            int count = 0;
+            while (new File(SAW_PREFIX + (count + 1) + ".png").exists()) {
+                count++;
+            }
+            sawFramePaths = AssetCache.framePaths(SAW_PREFIX, count);
+            System.out.println("SawTrap found " + count + " frames.");
         }
+        return sawFramePaths;
     }
 
     @Override
@@ -193,21 +202,19 @@ public class SawTrap extends Entity {
     }
 
     @Override
-    public void draw(Graphics2D g2) {
-        int screenX = worldX - gamePanel.cameraX;
-        int screenY = worldY - gamePanel.cameraY;
+    public void submit(RenderSnapshot snapshot) {
 
         // // Optional: debug hitbox (matches solidArea, not sprite)
-        // g2.setColor(new Color(255, 0, 0, 80));
-        // g2.fillRect(
-        //         screenX + solidArea.x,
-        //         screenY + solidArea.y,
+        // snapshot.addRect(
+        //         new Color(255, 0, 0, 80),
+        //         worldX + solidArea.x,
+        //         worldY + solidArea.y,
         //         solidArea.width,
         //         solidArea.height
         // );
 
         if (spritesLoaded) {
-            g2.drawImage(frames[frameIndex], screenX, screenY, renderWidth, renderHeight, null);
+            snapshot.addRegion(frames[frameIndex], worldX, worldY);
         }
     }
 }
@@ -2,12 +2,13 @@ package src.entity.mobs;
 
 import src.entity.Entity;
 import src.core.GamePanel;
+import src.render.RenderSnapshot;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.util.AssetCache;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.File;
-import java.io.IOException;
 
 public class WhiteLady extends Entity {
 
@@ -18,7 +19,8 @@ public class WhiteLady extends Entity {
 
     // Animation frames
     private static final int FRAME_COUNT = 7;
-    private final BufferedImage[] frames = new BufferedImage[FRAME_COUNT];
+    private SpriteRegion[] frames;
+    private SpriteRegion[] flippedFrames;
 
     private int frameIndex = 0;
     private int frameCounter = 0;
@@ -44,6 +46,9 @@ public class WhiteLady extends Entity {
             "mob" + File.separator +
             "whitelady" + File.separator;
 
+    // Frames live in the shared TextureAtlas
+    private static final String[] FRAME_PATHS = AssetCache.framePaths(BASE_DIR + "whitelady", FRAME_COUNT);
+
     public WhiteLady(GamePanel gp, int worldX, int worldY) {
         this.gamePanel = gp;
 
@@ -91,53 +96,26 @@ public class WhiteLady extends Entity {
         loadFrames();
     }
 
-    private void loadFrames() {
-
-        System.out.println("\n======== WhiteLady FRAME LOADING ========");
-
-        File folder = new File(BASE_DIR);
-        System.out.println("Looking in: " + folder.getAbsolutePath());
+    // Pack the frames before the first one spawns (any thread, see
+    // MapPreloader); the constructor then only looks them up
+    public static void preloadFrames(GamePanel gp) {
+        int size = gp.tileSize * 2; // same draw size as the constructor
+        TextureAtlas.regions(FRAME_PATHS, size, size, false);
+        TextureAtlas.regions(FRAME_PATHS, size, size, true);
+    }
 
-        if (!folder.exists()) {
-            System.out.println("FOLDER DOES NOT EXIST!");
-        } else {
-            System.out.println("Folder exists.");
-            System.out.println("Files inside folder:");
-
-            File[] list = folder.listFiles();
-            if (list != null) {
-                for (File f : list) {
-                    System.out.println(" - " + f.getName());
-                }
-            }
-        }
+    private void loadFrames() {
+        // packed at the draw size, plus mirrored copies for facing left
+        frames = TextureAtlas.regions(FRAME_PATHS, renderWidth, renderHeight, false);
+        flippedFrames = TextureAtlas.regions(FRAME_PATHS, renderWidth, renderHeight, true);
 
         boolean anyLoaded = false;
-
-        for (int i = 0; i < FRAME_COUNT; i++) {
-            String fileName = BASE_DIR + "whitelady" + (i + 1) + ".png";
-
-            File file = new File(fileName);
-            System.out.println("Loading: " + file.getAbsolutePath() + " exists=" + file.exists());
-
-            if (!file.exists()) {
-                frames[i] = null;
-                continue;
-            }
-
-            try {
-                frames[i] = ImageIO.read(file);
+        for (SpriteRegion frame : frames) {
+            if (frame != null) {
                 anyLoaded = true;
-            } catch (IOException e) {
-                System.out.println("Failed to read: " + fileName);
-                frames[i] = null;
             }
         }
-
         spritesLoaded = anyLoaded;
-
-        System.out.println("Sprites Loaded = " + spritesLoaded);
-        System.out.println("=========================================\n");
     }
 
     @Override
@@ -192,19 +170,16 @@ public class WhiteLady extends Entity {
     }
 
     @Override
-    public void draw(Graphics2D g2) {
-        int screenX = worldX - gamePanel.cameraX;
-        int screenY = worldY - gamePanel.cameraY;
+    public void submit(RenderSnapshot snapshot) {
 
         // // Debug sprite bounds (optional)
-        // g2.setColor(new Color(255, 0, 255, 80));
-        // g2.fillRect(screenX, screenY, renderWidth, renderHeight);
+        // snapshot.addRect(new Color(255, 0, 255, 80), worldX, worldY, renderWidth, renderHeight);
 
         // // Debug hitbox (optional)
-        // g2.setColor(new Color(0, 255, 0, 120));
-        // g2.fillRect(
-        //         screenX + solidArea.x,
-        //         screenY + solidArea.y,
+        // snapshot.addRect(
+        //         new Color(0, 255, 0, 120),
+        //         worldX + solidArea.x,
+        //         worldY + solidArea.y,
         //         solidArea.width,
         //         solidArea.height
         // );
@@ -212,21 +187,10 @@ public class WhiteLady extends Entity {
         if (!spritesLoaded) return;
         if (frames[frameIndex] == null) return;
 
-        BufferedImage frame = frames[frameIndex];
+        // facing left uses the pre-flipped frames
+        SpriteRegion frame = movingRight ? frames[frameIndex] : flippedFrames[frameIndex];
+        if (frame == null) return;
 
-        if (movingRight) {
-            // normal draw (facing right)
-            g2.drawImage(frame, screenX, screenY, renderWidth, renderHeight, null);
-        } else {
-            // flip horizontally (facing left)
-            Graphics2D g2d = (Graphics2D) g2;
-            java.awt.geom.AffineTransform old = g2d.getTransform();
-
-            g2d.translate(screenX + renderWidth, screenY);
-            g2d.scale(-1, 1);
-            g2d.drawImage(frame, 0, 0, renderWidth, renderHeight, null);
-
-            g2d.setTransform(old);
-        }
+        snapshot.addRegion(frame, worldX, worldY);
     }
 }
@@ -4,10 +4,9 @@ import src.core.GamePanel;
 import src.entity.Entity;
 
 import java.awt.Rectangle;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
+import src.render.RenderSnapshot;
+import src.util.AssetCache;
 
 public class TsinelasProjectile extends Entity {
 
@@ -19,6 +18,9 @@ public class TsinelasProjectile extends Entity {
     private boolean expired = false;
     private BufferedImage sprite;
 
+    // shared through AssetCache, released in dispose()
+    private static final String SPRITE_PATH = "assets/items/weapons/tsinelas.png";
+
     public TsinelasProjectile(GamePanel gp, int startX, int startY, String direction) {
         this.gp = gp;
         this.direction = direction;
@@ -30,13 +32,20 @@ public class TsinelasProjectile extends Entity {
     }
 
     private void loadSprite() {
-        try {
-            sprite = ImageIO.read(new File("assets/items/weapons/tsinelas.png"));
-        } catch (Exception e) {
+        sprite = AssetCache.acquireScaled(SPRITE_PATH, gp.tileSize, gp.tileSize, false);
+        if (sprite == null) {
             System.out.println("[Projectile] Failed to load tsinelas sprite.");
         }
     }
 
+    @Override
+    public void dispose() {
+        if (sprite != null) {
+            sprite = null;
+            AssetCache.releaseScaled(SPRITE_PATH, gp.tileSize, gp.tileSize, false);
+        }
+    }
+
     public void update() {
         if (expired) return;
 
@@ -67,11 +76,9 @@ public class TsinelasProjectile extends Entity {
         }
     }
 
-    public void draw(Graphics2D g2) {
+    public void submit(RenderSnapshot snapshot) {
         if (sprite == null) return;
-        int screenX = worldX - gp.cameraX;
-        int screenY = worldY - gp.cameraY;
-        g2.drawImage(sprite, screenX, screenY, gp.tileSize, gp.tileSize, null);
+        snapshot.addSprite(sprite, worldX, worldY, gp.tileSize, gp.tileSize);
     }
 
     public boolean isExpired() {
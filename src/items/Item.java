@@ -4,19 +4,28 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.RenderSnapshot;
+import src.render.Renderable;
+import src.render.TextureAtlas;
+import src.render.Viewport;
+import src.util.AssetCache;
 
 import javax.imageio.ImageIO;
 import java.io.IOException;
 import java.io.InputStream;
 
-public abstract class Item {
+public abstract class Item implements Renderable {
 
     protected GamePanel gp;
 
     public int worldX;
     public int worldY;
 
-    public BufferedImage sprite;
+    // image of the item (null = none) and its size in image pixels. Only
+    // the path is kept: the world sprite and the UI icons are scaled once
+    // per size into the shared TextureAtlas, however many items use them.
+    public String spritePath;
+    public int spriteWidth, spriteHeight;
     public boolean consumed = false;
 
     public String name;
@@ -80,6 +89,24 @@ public abstract class Item {
         }
     }
 
+    // Use the image at path: only held while it is measured here
+    protected void setSprite(String path) throws IOException {
+        BufferedImage image = AssetCache.acquire(path);
+        if (image == null)
+            throw new IOException("Can't read input file: " + path);
+        try {
+            spritePath = path;
+            spriteWidth = image.getWidth();
+            spriteHeight = image.getHeight();
+        } finally {
+            AssetCache.release(path);
+        }
+    }
+
+    public boolean hasSprite() {
+        return spritePath != null;
+    }
+
     public abstract void onPickup();
 
     // ================================
@@ -98,13 +125,25 @@ public abstract class Item {
     // ================================
     //            DRAWING
     // ================================
-    public void draw(Graphics2D g2) {
-        if (sprite == null) return;
-
+    // same box submit() draws
+    public boolean isVisible(Viewport view) {
         int tile = gp.tileSize;
+        int drawW = (int)(tile * widthTiles * drawScale);
+        int drawH = (int)(tile * heightTiles * drawScale);
+        int x = worldX + (tile - drawW) / 2 + drawOffsetX;
+        int y = worldY + (tile - drawH) / 2 + drawOffsetY;
+        return view.intersects(x, y, drawW, drawH);
+    }
+
+    // items sort by the bottom of the tile they lie on
+    public int getDepthY() {
+        return worldY + gp.tileSize;
+    }
 
-        int screenX = worldX - gp.cameraX;
-        int screenY = worldY - gp.cameraY;
+    public void submit(RenderSnapshot snapshot) {
+        if (spritePath == null) return;
+
+        int tile = gp.tileSize;
 
         int baseW = tile * widthTiles;
         int baseH = tile * heightTiles;
@@ -112,13 +151,16 @@ public abstract class Item {
         int drawW = (int)(baseW * drawScale);
         int drawH = (int)(baseH * drawScale);
 
-        int centerX = screenX + (tile - drawW) / 2;
-        int centerY = screenY + (tile - drawH) / 2;
+        int centerX = worldX + (tile - drawW) / 2;
+        int centerY = worldY + (tile - drawH) / 2;
 
         int finalX = centerX + drawOffsetX;
         int finalY = centerY + drawOffsetY;
 
-        g2.drawImage(sprite, finalX, finalY, drawW, drawH, null);
+        // scaled once per (path, size), shared by every item drawn that way
+        if (drawW > 0 && drawH > 0) {
+            snapshot.addRegion(TextureAtlas.region(spritePath, drawW, drawH), finalX, finalY);
+        }
     }
 
 
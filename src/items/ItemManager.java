@@ -1,15 +1,16 @@
 package src.items;
 
 import java.awt.*;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
 
 import src.core.GamePanel;
 import src.items.consumables.HealthRegenItem;
 import src.items.consumables.NoCooldownItem;
 import src.items.consumables.ShieldItem;
+import src.render.RenderQueue;
+import src.render.Viewport;
+import src.tile.MapFile;
 
 
 // WEAPONS
@@ -28,9 +29,6 @@ public class ItemManager {
     private final Item[] itemTypes = new Item[32];
     private int itemTypeCount = 0;
 
-    private static final String MAP_DIR =
-            "assets" + File.separator + "maps" + File.separator;
-
     public ItemManager(GamePanel gp) {
         this.gp = gp;
 
@@ -39,8 +37,8 @@ public class ItemManager {
 
         registerItemTypes();
 
-        loadItemMap("items1.txt", 0);
-        loadItemMap("items2.txt", 1);
+        loadItemMap(0);
+        loadItemMap(1);
     }
 
     // ============================================================
@@ -66,27 +64,26 @@ public class ItemManager {
     // ============================================================
     // LOAD ITEM MAP
     // ============================================================
-    private void loadItemMap(String fileName, int mapIndex) {
+    private void loadItemMap(int mapIndex) {
 
-        File file = new File(MAP_DIR + fileName);
-        if (!file.exists()) {
-            System.out.println("Item map not found: " + fileName);
+        // items layer of the map file, same size as the map's tile grid
+        MapFile file = gp.tileManager.getMapFile(mapIndex);
+        ShortBuffer layer = file.layer(MapFile.LAYER_ITEMS);
+        if (layer == null) {
+            System.out.println("No item map for map " + mapIndex);
             return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+        try {
 
             int row = 0;
 
-            while (row < gp.maxWorldRow) {
-                String line = br.readLine();
-                if (line == null) break;
-
-                String[] values = line.trim().split("\\s+");
+            while (row < file.rows) {
+                int base = row * file.cols;
 
-                for (int col = 0; col < values.length && col < gp.maxWorldCol; col++) {
+                for (int col = 0; col < file.cols; col++) {
 
-                    int id = Integer.parseInt(values[col]);
+                    int id = layer.get(base + col);
                     if (id < 0 || id >= itemTypeCount) continue;
 
                     int worldX = col * gp.tileSize;
@@ -95,9 +92,9 @@ public class ItemManager {
                     Item template = itemTypes[id];
                     Item newItem = template.copy(gp, worldX, worldY);
 
-                    if (newItem != null && newItem.sprite != null) {
-                        int spriteW = newItem.sprite.getWidth();
-                        int spriteH = newItem.sprite.getHeight();
+                    if (newItem != null && newItem.hasSprite()) {
+                        int spriteW = newItem.spriteWidth;
+                        int spriteH = newItem.spriteHeight;
 
                         newItem.worldX = worldX + (gp.tileSize - spriteW) / 2;
                         newItem.worldY = worldY + (gp.tileSize - spriteH) / 2;
@@ -110,7 +107,7 @@ public class ItemManager {
             }
 
         } catch (Exception e) {
-            System.out.println("Error loading item map: " + fileName);
+            System.out.println("Error loading item map for map " + mapIndex);
             e.printStackTrace();
         }
     }
@@ -168,40 +165,17 @@ public class ItemManager {
     }
 
     // ============================================================
-    // DRAW BEHIND PLAYER
-    // ============================================================
-    public void drawBehindPlayer(Graphics2D g2, int playerFeetRow) {
-
-        ArrayList<Item> mapItems = items[gp.currentMap];
-        if (mapItems == null) return;
-
-        for (Item item : mapItems) {
-            if (item == null || item.sprite == null) continue;
-
-            int bottom = item.worldY + gp.tileSize;
-            int row = (bottom - 1) / gp.tileSize;
-
-            if (row < playerFeetRow)
-                item.draw(g2);
-        }
-    }
-
-    // ============================================================
-    // DRAW IN FRONT OF PLAYER
+    // QUEUE FOR DRAWING (depth-sorted with everything else)
     // ============================================================
-    public void drawInFrontOfPlayer(Graphics2D g2, int playerFeetRow) {
+    public void queue(RenderQueue queue, Viewport view) {
 
         ArrayList<Item> mapItems = items[gp.currentMap];
         if (mapItems == null) return;
 
         for (Item item : mapItems) {
-            if (item == null || item.sprite == null) continue;
-
-            int bottom = item.worldY + gp.tileSize;
-            int row = (bottom - 1) / gp.tileSize;
-
-            if (row >= playerFeetRow)
-                item.draw(g2);
+            if (item == null || !item.hasSprite()) continue;
+            if (item.isVisible(view))
+                queue.add(item);
         }
     }
 }
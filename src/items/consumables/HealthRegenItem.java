@@ -4,8 +4,6 @@ import src.items.Item;
 import src.core.GamePanel;
 import src.entity.Player;
 
-import javax.imageio.ImageIO;
-import java.io.File;
 
 public class HealthRegenItem extends Item {
 
@@ -14,7 +12,7 @@ public class HealthRegenItem extends Item {
 
         // Load sprite (32x32)
         try {
-            sprite = ImageIO.read(new File("assets/items/1healthregen.png"));
+            setSprite("assets/items/1healthregen.png");
         } catch (Exception e) {
             System.out.println("ERROR: Failed loading HealthRegen sprite");
         }
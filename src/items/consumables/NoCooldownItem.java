@@ -1,7 +1,5 @@
 package src.items.consumables;
 
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.entity.Player;
@@ -18,7 +16,7 @@ public class NoCooldownItem extends Item {
         super(gp, x, y, "No Cooldown Potion", "Removes cooldown from all skills temporarily.");
 
         try {
-            sprite = ImageIO.read(new File("assets/items/1nocd.png"));
+            setSprite("assets/items/1nocd.png");
         } catch (Exception e) {
             System.out.println("ERROR: Failed loading no cooldown sprite");
         }
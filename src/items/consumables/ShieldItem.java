@@ -1,7 +1,5 @@
 package src.items.consumables;
 
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.entity.Player;
@@ -15,9 +13,7 @@ public class ShieldItem extends Item {
         super(gp, x, y, "Shield", "Temporary damage immunity.");
 
         try {
-            sprite = ImageIO.read(
-                    new File("assets/items/1sheild.png")
-            );
+            setSprite("assets/items/1sheild.png");
         } catch (Exception e) {
             System.out.println("ERROR: Failed loading Shield sprite");
         }
@@ -1,8 +1,5 @@
 package src.items.temporary;
 
-import java.io.File;
-
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.items.Item;
@@ -13,9 +10,7 @@ public class Map2Key extends Item {
 
          // Load sprite
         try {
-            sprite = ImageIO.read(
-                    new File("src/assets/items/2key.png")
-            );
+            setSprite("src/assets/items/2key.png");
         } catch (Exception e) {
             System.out.println("ERROR: Failed loading no Key sprite");
         }
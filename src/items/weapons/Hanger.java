@@ -3,8 +3,6 @@ package src.items.weapons;
 import src.core.GamePanel;
 import src.items.Item;
 
-import javax.imageio.ImageIO;
-import java.io.File;
 
 public class Hanger extends Item {
 
@@ -15,7 +13,7 @@ public class Hanger extends Item {
         super(gp, x, y, "Hanger", "Melee weapon.");
 
         try {
-            sprite = ImageIO.read(new File("assets/items/weapons/hanger.png"));
+            setSprite("assets/items/weapons/hanger.png");
         } catch (Exception e) {
             System.out.println("ERROR: Failed loading Hanger sprite");
         }
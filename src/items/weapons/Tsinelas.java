@@ -3,8 +3,6 @@ package src.items.weapons;
 import src.core.GamePanel;
 import src.items.Item;
 
-import javax.imageio.ImageIO;
-import java.io.File;
 
 public class Tsinelas extends Item {
 
@@ -15,7 +13,7 @@ public class Tsinelas extends Item {
         super(gp, x, y, "Tsinelas", "Classic ranged weapon.");
 
         try {
-            sprite = ImageIO.read(new File("assets/items/weapons/tsinelas.png"));
+            setSprite("assets/items/weapons/tsinelas.png");
         } catch (Exception e) {
             System.out.println("ERROR: Failed loading Tsinelas sprite");
         }
@@ -2,7 +2,8 @@ package src.items.weapons;
 
 import src.core.GamePanel;
 import src.items.Item;
-import src.util.SpriteLoader;
+
+import java.io.IOException;
 
 public abstract class WeaponItem extends Item {
 
@@ -25,8 +26,11 @@ public abstract class WeaponItem extends Item {
         this.damage = damage;
         this.attackSpeed = attackSpeed;
 
-        // Load sprite using your project's sprite loader
-        this.sprite = SpriteLoader.load(spritePath);
+        try {
+            setSprite(spritePath);
+        } catch (IOException e) {
+            System.out.println("FAILED TO LOAD RESOURCE: " + spritePath);
+        }
         this.isConsumable = false;   // WEAPONS ARE NOT CONSUMABLE
         this.consumed = false;       // NEVER auto-remove from inventory
     }
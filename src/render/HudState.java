@@ -0,0 +1,41 @@
+package src.render;
+
+// The HUD / UI part of a RenderSnapshot: everything the UI classes draw,
+// copied from the player, the inventory and the game state by the update
+// thread (their capture() methods, see GamePanel.publishSnapshot). Drawing
+// then reads only this copy, never the live objects.
+//
+// Items are kept as sprite paths (null = empty slot); their icons come
+// from the shared TextureAtlas.
+public class HudState {
+
+    public static final int SKILL_SLOTS = 3;
+    public static final int HOTBAR_SLOTS = 3;
+    public static final int INVENTORY_ROWS = 2;
+    public static final int INVENTORY_COLS = 3;
+
+    public int gameState;
+
+    // ===== PLAYER BARS =====
+    public int health, maxHealth;
+    public int energy, maxEnergy;
+
+    // ===== SKILLS =====
+    public final boolean[] skillPresent = new boolean[SKILL_SLOTS];
+    public final boolean[] skillActive = new boolean[SKILL_SLOTS];
+    public final boolean[] skillOnCooldown = new boolean[SKILL_SLOTS];
+    public final int[] skillCooldownTicks = new int[SKILL_SLOTS];
+    public final String[] skillKey = new String[SKILL_SLOTS];
+
+    // ===== ACTION BAR =====
+    public final String[] hotbarSprite = new String[HOTBAR_SLOTS];
+    public int activeSlot;
+
+    // ===== INVENTORY =====
+    public final String[][] inventorySprite = new String[INVENTORY_ROWS][INVENTORY_COLS];
+    public int selectedRow, selectedCol;
+    public String heldSprite; // null = not holding an item
+
+    // ===== MESSAGE =====
+    public String message; // null = none showing
+}
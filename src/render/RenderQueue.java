@@ -0,0 +1,114 @@
+package src.render;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+// One depth-sorted list of everything drawn on top of the ground.
+//
+// Each tick the game add()s whatever is visible, then submit() sorts it by
+// base Y and records it into the snapshot in a single pass.
+//
+// The order from the previous tick is kept: things that are still there
+// start where they were, newcomers go at the end, and an insertion sort
+// fixes the rest. Most things barely move between ticks, so that is close
+// to one pass over the list. Equal depths keep their previous order, so
+// nothing flickers.
+public class RenderQueue {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // sorted order from the last submit()
+    private Renderable[] order = new Renderable[INITIAL_CAPACITY];
+    private int orderCount = 0;
+
+    // added this tick (arrival order)
+    private Renderable[] incoming = new Renderable[INITIAL_CAPACITY];
+    private int incomingCount = 0;
+    private final IdentityHashMap<Renderable, Boolean> present = new IdentityHashMap<>();
+
+    // scratch for the merge + sort
+    private Renderable[] next = new Renderable[INITIAL_CAPACITY];
+    private int[] keys = new int[INITIAL_CAPACITY];
+
+    public void add(Renderable r) {
+        if (r == null || present.put(r, Boolean.TRUE) != null)
+            return; // already queued this tick
+
+        if (incomingCount == incoming.length) {
+            incoming = Arrays.copyOf(incoming, incomingCount * 2);
+        }
+        incoming[incomingCount++] = r;
+    }
+
+    public int size() {
+        return orderCount;
+    }
+
+    // Sort what was added this tick and record it into the snapshot
+    public void submit(RenderSnapshot snapshot) {
+        ensureCapacity(incomingCount);
+
+        // 1) survivors, in last tick's order
+        int n = 0;
+        for (int i = 0; i < orderCount; i++) {
+            Renderable r = order[i];
+            if (present.remove(r) != null) {
+                next[n++] = r;
+            }
+        }
+
+        // 2) newcomers (whatever is left in the set), in arrival order
+        for (int i = 0; i < incomingCount; i++) {
+            Renderable r = incoming[i];
+            if (present.remove(r) != null) {
+                next[n++] = r;
+            }
+        }
+
+        // 3) insertion sort on the current depths (stable)
+        for (int i = 0; i < n; i++) {
+            keys[i] = next[i].getDepthY();
+        }
+        for (int i = 1; i < n; i++) {
+            Renderable r = next[i];
+            int key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                next[j + 1] = next[j];
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            next[j + 1] = r;
+            keys[j + 1] = key;
+        }
+
+        // 4) draw in depth order
+        for (int i = 0; i < n; i++) {
+            Renderable r = next[i];
+            r.applyMotion(snapshot);
+            r.submit(snapshot);
+        }
+        snapshot.clearMotion();
+
+        // keep the order for next tick; drop stale references
+        Renderable[] swap = order;
+        order = next;
+        next = swap;
+        Arrays.fill(next, 0, orderCount, null);
+        orderCount = n;
+
+        Arrays.fill(incoming, 0, incomingCount, null);
+        incomingCount = 0;
+        present.clear();
+    }
+
+    // order, next and keys always have the same length
+    private void ensureCapacity(int size) {
+        if (next.length < size) {
+            int newSize = Math.max(size, next.length * 2);
+            order = Arrays.copyOf(order, newSize);
+            next = Arrays.copyOf(next, newSize);
+            keys = Arrays.copyOf(keys, newSize);
+        }
+    }
+}
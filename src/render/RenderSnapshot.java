@@ -0,0 +1,243 @@
+package src.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Everything the renderer needs to draw one frame of the world.
+// Filled by the update thread at the end of a tick, then handed to the
+// render thread through SnapshotBuffer. The renderer never touches the
+// live entity lists, so both threads can run without locks.
+// Arrays are reused between ticks, so publishing a frame does not allocate.
+public class RenderSnapshot {
+
+    // ===== RECORD KINDS =====
+    public static final byte SPRITE = 0;
+    public static final byte SPRITE_FLIPPED = 1; // mirrored horizontally
+    public static final byte RECT = 2;
+    public static final byte REGION = 3;         // sub-rectangle of an atlas page
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // moves longer than this in one tick are teleports / respawns:
+    // draw them at the new position instead of sliding across the map
+    public static final int MAX_INTERPOLATION_DISTANCE = 128;
+
+    // ===== FRAME STATE =====
+    public int cameraX;
+    public int cameraY;
+    public int prevCameraX; // camera at the previous tick (for interpolation)
+    public int prevCameraY;
+    public int currentMap;
+
+    // HUD / UI values of the same tick
+    public final HudState hud = new HudState();
+
+    // motion applied to the records added after setMotion()
+    private int motionX = 0;
+    private int motionY = 0;
+
+    // ===== DRAW RECORDS (parallel arrays) =====
+    private int count = 0;
+    private byte[] kind = new byte[INITIAL_CAPACITY];
+    private boolean[] screenSpace = new boolean[INITIAL_CAPACITY];
+    private BufferedImage[] image = new BufferedImage[INITIAL_CAPACITY];
+    private Color[] color = new Color[INITIAL_CAPACITY];
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] w = new int[INITIAL_CAPACITY];
+    private int[] h = new int[INITIAL_CAPACITY];
+    private int[] srcX = new int[INITIAL_CAPACITY]; // REGION: position in the page
+    private int[] srcY = new int[INITIAL_CAPACITY];
+    private int[] dx = new int[INITIAL_CAPACITY]; // movement since last tick
+    private int[] dy = new int[INITIAL_CAPACITY];
+
+    public void clear() {
+        // drop sprite references so old frames don't keep images alive
+        Arrays.fill(image, 0, count, null);
+        Arrays.fill(color, 0, count, null);
+        count = 0;
+        motionX = 0;
+        motionY = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // ================== RECORDING ==================
+
+    // Everything added until clearMotion() moved from (prevX, prevY) to
+    // (x, y) during the last tick. The renderer blends between the two.
+    public void setMotion(int prevX, int prevY, int x, int y) {
+        int mx = x - prevX;
+        int my = y - prevY;
+        if (Math.abs(mx) > MAX_INTERPOLATION_DISTANCE || Math.abs(my) > MAX_INTERPOLATION_DISTANCE) {
+            mx = 0;
+            my = 0;
+        }
+        motionX = mx;
+        motionY = my;
+    }
+
+    public void clearMotion() {
+        motionX = 0;
+        motionY = 0;
+    }
+
+    // sprite at a world position (moves with the camera)
+    public void addSprite(BufferedImage img, int worldX, int worldY, int width, int height) {
+        if (img == null)
+            return;
+        add(SPRITE, false, img, null, worldX, worldY, width, height);
+    }
+
+    // sprite mirrored horizontally (facing left)
+    public void addFlippedSprite(BufferedImage img, int worldX, int worldY, int width, int height) {
+        if (img == null)
+            return;
+        add(SPRITE_FLIPPED, false, img, null, worldX, worldY, width, height);
+    }
+
+    // sprite fixed on screen (e.g. the player, always centered)
+    public void addScreenSprite(BufferedImage img, int screenX, int screenY, int width, int height) {
+        if (img == null)
+            return;
+        add(SPRITE, true, img, null, screenX, screenY, width, height);
+    }
+
+    // atlas sprite at a world position
+    public void addRegion(SpriteRegion region, int worldX, int worldY) {
+        if (region == null)
+            return;
+        addRegion(false, region, worldX, worldY);
+    }
+
+    // atlas sprite fixed on screen
+    public void addScreenRegion(SpriteRegion region, int screenX, int screenY) {
+        if (region == null)
+            return;
+        addRegion(true, region, screenX, screenY);
+    }
+
+    private void addRegion(boolean screen, SpriteRegion region, int px, int py) {
+        add(REGION, screen, region.page, null, px, py, region.width, region.height);
+        srcX[count - 1] = region.x;
+        srcY[count - 1] = region.y;
+    }
+
+    // filled rectangle at a world position (health bars, fallbacks)
+    public void addRect(Color c, int worldX, int worldY, int width, int height) {
+        if (c == null || width <= 0 || height <= 0)
+            return;
+        add(RECT, false, null, c, worldX, worldY, width, height);
+    }
+
+    private void add(byte k, boolean screen, BufferedImage img, Color c,
+            int px, int py, int pw, int ph) {
+        if (count == kind.length) {
+            grow();
+        }
+        kind[count] = k;
+        screenSpace[count] = screen;
+        image[count] = img;
+        color[count] = c;
+        x[count] = px;
+        y[count] = py;
+        w[count] = pw;
+        h[count] = ph;
+        dx[count] = screen ? 0 : motionX;
+        dy[count] = screen ? 0 : motionY;
+        count++;
+    }
+
+    private void grow() {
+        int newSize = kind.length * 2;
+        kind = Arrays.copyOf(kind, newSize);
+        screenSpace = Arrays.copyOf(screenSpace, newSize);
+        image = Arrays.copyOf(image, newSize);
+        color = Arrays.copyOf(color, newSize);
+        x = Arrays.copyOf(x, newSize);
+        y = Arrays.copyOf(y, newSize);
+        w = Arrays.copyOf(w, newSize);
+        h = Arrays.copyOf(h, newSize);
+        srcX = Arrays.copyOf(srcX, newSize);
+        srcY = Arrays.copyOf(srcY, newSize);
+        dx = Arrays.copyOf(dx, newSize);
+        dy = Arrays.copyOf(dy, newSize);
+    }
+
+    // ================== INTERPOLATION ==================
+    // alpha = how far the renderer is between the previous tick (0)
+    // and this one (1)
+
+    public int cameraXAt(float alpha) {
+        return lerp(prevCameraX, cameraX, alpha);
+    }
+
+    public int cameraYAt(float alpha) {
+        return lerp(prevCameraY, cameraY, alpha);
+    }
+
+    private static int lerp(int from, int to, float alpha) {
+        return from + Math.round((to - from) * alpha);
+    }
+
+    // ================== DRAWING (render thread) ==================
+    public void draw(Graphics2D g2, int screenW, int screenH, float alpha) {
+
+        int camX = cameraXAt(alpha);
+        int camY = cameraYAt(alpha);
+        float back = 1f - alpha;
+
+        for (int i = 0; i < count; i++) {
+
+            int drawX, drawY;
+            if (screenSpace[i]) {
+                drawX = x[i];
+                drawY = y[i];
+            } else {
+                drawX = x[i] - Math.round(dx[i] * back) - camX;
+                drawY = y[i] - Math.round(dy[i] * back) - camY;
+            }
+
+            // skip anything fully off screen
+            if (drawX + w[i] <= 0 || drawX >= screenW ||
+                    drawY + h[i] <= 0 || drawY >= screenH) {
+                continue;
+            }
+
+            switch (kind[i]) {
+                case SPRITE -> {
+                    BufferedImage img = image[i];
+                    if (img.getWidth() == w[i] && img.getHeight() == h[i]) {
+                        // pre-scaled at load time: straight blit
+                        g2.drawImage(img, drawX, drawY, null);
+                    } else {
+                        g2.drawImage(img, drawX, drawY, w[i], h[i], null);
+                    }
+                }
+
+                case SPRITE_FLIPPED -> {
+                    BufferedImage img = image[i];
+                    // destination x1 > x2 mirrors the image
+                    g2.drawImage(img,
+                            drawX + w[i], drawY, drawX, drawY + h[i],
+                            0, 0, img.getWidth(), img.getHeight(),
+                            null);
+                }
+
+                case REGION -> g2.drawImage(image[i],
+                        drawX, drawY, drawX + w[i], drawY + h[i],
+                        srcX[i], srcY[i], srcX[i] + w[i], srcY[i] + h[i],
+                        null);
+
+                case RECT -> {
+                    g2.setColor(color[i]);
+                    g2.fillRect(drawX, drawY, w[i], h[i]);
+                }
+            }
+        }
+    }
+}
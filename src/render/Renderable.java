@@ -0,0 +1,16 @@
+package src.render;
+
+// Anything that can go through the RenderQueue: objects, items, mobs,
+// projectiles and the player.
+public interface Renderable {
+
+    // World Y of the base / feet. Lower values are drawn first.
+    int getDepthY();
+
+    void submit(RenderSnapshot snapshot);
+
+    // Moving things record how far they moved this tick (interpolation)
+    default void applyMotion(RenderSnapshot snapshot) {
+        snapshot.clearMotion();
+    }
+}
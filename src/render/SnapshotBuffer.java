@@ -0,0 +1,50 @@
+package src.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lock-free triple buffer of RenderSnapshots.
+//
+// The update thread always owns one slot (write), the render thread owns
+// another (read), and the third sits in the middle holding the newest
+// finished frame. Publishing and reading are a single atomic swap with
+// the middle slot, so neither side ever waits for the other.
+public class SnapshotBuffer {
+
+    // low bits = slot index of the middle buffer, DIRTY = it holds a new frame
+    private static final int INDEX_MASK = 3;
+    private static final int DIRTY = 4;
+
+    private final RenderSnapshot[] slots = {
+            new RenderSnapshot(),
+            new RenderSnapshot(),
+            new RenderSnapshot()
+    };
+
+    private final AtomicInteger middle = new AtomicInteger(2);
+
+    private int writeIndex = 0; // only touched by the update thread
+    private int readIndex = 1;  // only touched by the render thread
+
+    // UPDATE THREAD: get an empty snapshot to fill
+    public RenderSnapshot beginWrite() {
+        RenderSnapshot snapshot = slots[writeIndex];
+        snapshot.clear();
+        return snapshot;
+    }
+
+    // UPDATE THREAD: hand the filled snapshot to the renderer
+    public void publish() {
+        int old = middle.getAndSet(writeIndex | DIRTY);
+        writeIndex = old & INDEX_MASK;
+    }
+
+    // RENDER THREAD: newest published snapshot (or the previous one if
+    // nothing new arrived since the last frame)
+    public RenderSnapshot latest() {
+        if ((middle.get() & DIRTY) != 0) {
+            int old = middle.getAndSet(readIndex);
+            readIndex = old & INDEX_MASK;
+        }
+        return slots[readIndex];
+    }
+}
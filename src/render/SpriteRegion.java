@@ -0,0 +1,31 @@
+package src.render;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// Handle to one sprite inside a TextureAtlas page.
+// The pixels are already at draw size, so drawing copies the
+// sub-rectangle 1:1.
+public class SpriteRegion {
+
+    public final BufferedImage page;
+    public final int x;
+    public final int y;
+    public final int width;
+    public final int height;
+
+    public SpriteRegion(BufferedImage page, int x, int y, int width, int height) {
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public void draw(Graphics2D g2, int drawX, int drawY) {
+        g2.drawImage(page,
+                drawX, drawY, drawX + width, drawY + height,
+                x, y, x + width, y + height,
+                null);
+    }
+}
@@ -0,0 +1,189 @@
+package src.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import src.util.AssetCache;
+import src.util.ImageUtil;
+
+// Packs world sprites (tiles, objects, player and mob frames) into a few
+// large PAGE_SIZE pages and hands out SpriteRegion handles.
+//
+// Sprites are scaled to their draw size while being copied in, so every
+// draw is an unscaled sub-rectangle blit from one of a handful of images
+// instead of a different BufferedImage per frame.
+//
+// Packing is a simple shelf packer, done the first time a sprite is asked
+// for. The loose source images go back to the AssetCache.
+//
+// The static methods use the shared atlas, whose pages live for the whole
+// session (player, mobs, ...). Per-map sprites go into their own atlas
+// (see MapAssets) that is clear()ed when the map is left.
+public class TextureAtlas {
+
+    public static final int PAGE_SIZE = 1024;
+
+    // empty pixels between sprites
+    private static final int PADDING = 1;
+
+    private static final TextureAtlas shared = new TextureAtlas("shared");
+
+    public final String name;
+
+    private final Map<String, SpriteRegion> regions = new HashMap<>();
+    private final List<BufferedImage> pages = new ArrayList<>();
+
+    // ===== SHELF PACKER STATE (current page) =====
+    private BufferedImage page;
+    private int cursorX;
+    private int cursorY;
+    private int shelfHeight;
+
+    public TextureAtlas(String name) {
+        this.name = name;
+    }
+
+    // ================== SHARED ATLAS ==================
+
+    // Sprite at path scaled to width x height (optionally mirrored).
+    // Null if the image does not exist.
+    public static SpriteRegion region(String path, int width, int height, boolean flipX) {
+        return shared.get(path, width, height, flipX);
+    }
+
+    public static SpriteRegion region(String path, int width, int height) {
+        return shared.get(path, width, height, false);
+    }
+
+    // Frame sets; missing frames come back as null entries
+    public static SpriteRegion[] regions(String[] paths, int width, int height, boolean flipX) {
+        return shared.getAll(paths, width, height, flipX);
+    }
+
+    // Copy an image (e.g. a sheet sub-image) into the shared atlas
+    public static SpriteRegion pack(BufferedImage source, int width, int height, boolean flipX) {
+        return shared.add(source, width, height, flipX);
+    }
+
+    public static int pageCount() {
+        return shared.getPageCount();
+    }
+
+    public static int regionCount() {
+        return shared.getRegionCount();
+    }
+
+    // ================== LOOKUP ==================
+
+    public synchronized SpriteRegion get(String path, int width, int height, boolean flipX) {
+        String key = path.replace('\\', '/') + "@" + width + "x" + height + (flipX ? ":flip" : "");
+        SpriteRegion region = regions.get(key);
+        if (region != null || regions.containsKey(key)) {
+            return region;
+        }
+
+        BufferedImage source = AssetCache.acquire(path);
+        if (source != null) {
+            try {
+                region = add(source, width, height, flipX);
+            } finally {
+                AssetCache.release(path);
+            }
+        }
+        regions.put(key, region); // remember missing ones too
+        return region;
+    }
+
+    public SpriteRegion[] getAll(String[] paths, int width, int height, boolean flipX) {
+        SpriteRegion[] out = new SpriteRegion[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            out[i] = get(paths[i], width, height, flipX);
+        }
+        return out;
+    }
+
+    // ================== PACKING ==================
+
+    // Copy an image into this atlas at width x height
+    public synchronized SpriteRegion add(BufferedImage source, int width, int height, boolean flipX) {
+        if (source == null || width <= 0 || height <= 0) {
+            return null;
+        }
+
+        BufferedImage target;
+        int x, y;
+
+        if (width > PAGE_SIZE || height > PAGE_SIZE) {
+            // too big to share a page: gets one of its own
+            target = newPage(width, height);
+            x = 0;
+            y = 0;
+        } else {
+            if (page == null || cursorX + width > PAGE_SIZE) {
+                // next shelf
+                cursorX = 0;
+                cursorY += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            if (page == null || cursorY + height > PAGE_SIZE) {
+                page = newPage(PAGE_SIZE, PAGE_SIZE);
+                cursorX = 0;
+                cursorY = 0;
+                shelfHeight = 0;
+            }
+
+            target = page;
+            x = cursorX;
+            y = cursorY;
+            cursorX += width + PADDING;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+
+        Graphics2D g2 = target.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        if (flipX) {
+            g2.drawImage(source, x + width, y, x, y + height,
+                    0, 0, source.getWidth(), source.getHeight(), null);
+        } else {
+            g2.drawImage(source, x, y, width, height, null);
+        }
+        g2.dispose();
+
+        return new SpriteRegion(target, x, y, width, height);
+    }
+
+    private BufferedImage newPage(int width, int height) {
+        BufferedImage p = ImageUtil.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        pages.add(p);
+        System.out.println("[TextureAtlas] " + name + " page " + pages.size() + " (" + width + "x" + height + ")");
+        return p;
+    }
+
+    // Forget every page and region; the pages are freed once nothing
+    // draws the old SpriteRegions any more
+    public synchronized void clear() {
+        if (!pages.isEmpty()) {
+            System.out.println("[TextureAtlas] " + name + " released " + pages.size() + " page(s)");
+        }
+        regions.clear();
+        pages.clear();
+        page = null;
+        cursorX = 0;
+        cursorY = 0;
+        shelfHeight = 0;
+    }
+
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    public synchronized int getRegionCount() {
+        return regions.size();
+    }
+}
@@ -0,0 +1,41 @@
+package src.render;
+
+// The part of the world that is on screen, computed once per frame from the
+// camera and the panel size.
+//
+// x/y/width/height are world pixels. firstCol..lastCol and firstRow..lastRow
+// are the tiles it touches, clamped to the map (empty when the camera is
+// completely off the map). Renderers loop over that range instead of the
+// whole map, so their cost follows the screen size, not the map size.
+public class Viewport {
+
+    public int x, y, width, height;
+    public int tileSize;
+
+    public int firstCol, firstRow;
+    public int lastCol, lastRow;
+
+    public void set(int cameraX, int cameraY, int screenW, int screenH,
+            int tileSize, int mapCols, int mapRows) {
+        this.x = cameraX;
+        this.y = cameraY;
+        this.width = screenW;
+        this.height = screenH;
+        this.tileSize = tileSize;
+
+        firstCol = Math.max(0, Math.floorDiv(cameraX, tileSize));
+        firstRow = Math.max(0, Math.floorDiv(cameraY, tileSize));
+        lastCol = Math.min(mapCols - 1, Math.floorDiv(cameraX + screenW - 1, tileSize));
+        lastRow = Math.min(mapRows - 1, Math.floorDiv(cameraY + screenH - 1, tileSize));
+    }
+
+    public boolean isEmpty() {
+        return lastCol < firstCol || lastRow < firstRow;
+    }
+
+    // does the world-pixel box (bx, by, bw, bh) show on screen?
+    public boolean intersects(int bx, int by, int bw, int bh) {
+        return bx < x + width && bx + bw > x &&
+                by < y + height && by + bh > y;
+    }
+}
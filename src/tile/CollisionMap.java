@@ -0,0 +1,192 @@
+package src.tile;
+
+import src.core.GamePanel;
+
+// Collision bitmap for ONE map at sub-tile resolution.
+//
+// The world is split into square cells of tileSize / SUBDIVISIONS pixels.
+// Two bit layers, one bit per cell (row-major, 64 cells per long):
+//   solid     - cell lies inside a blocking tile (exact, tiles align to cells)
+//   objectHit - cell touches the hitbox of a blocking object
+//               (conservative: the caller does the exact object test)
+//
+// Built once when a map is loaded (Collision rebuilds it when the map or a
+// tile changes), then queries are just word/bit tests.
+public class CollisionMap {
+
+    // cells per tile side (48px tiles -> 12px cells)
+    public static final int SUBDIVISIONS = 4;
+
+    public final int mapIndex;
+    public final int cellSize;
+    public final int cellCols;
+    public final int cellRows;
+
+    // bumped by Collision every time a map's bitmap is rebuilt
+    public final int version;
+
+    private final int wordsPerRow;
+    private final long[] solid;
+    private final long[] objectHit;
+
+    public CollisionMap(GamePanel gp, int mapIndex, int version) {
+        this.mapIndex = mapIndex;
+        this.version = version;
+        this.cellSize = Math.max(1, gp.tileSize / SUBDIVISIONS);
+        // sized by this map's own tile grid
+        MapData map = gp.tileManager != null ? gp.tileManager.getMap(mapIndex) : null;
+        this.cellCols = (map != null ? map.cols : MapData.DEFAULT_COLS) * SUBDIVISIONS;
+        this.cellRows = (map != null ? map.rows : MapData.DEFAULT_ROWS) * SUBDIVISIONS;
+        this.wordsPerRow = (cellCols + 63) >>> 6;
+
+        solid = new long[wordsPerRow * cellRows];
+        objectHit = new long[wordsPerRow * cellRows];
+
+        addTiles(gp.tileManager, map);
+        addObjects(gp.objectManager);
+    }
+
+    // ================== BUILD ==================
+
+    private void addTiles(TileManager tm, MapData map) {
+        if (tm == null || map == null)
+            return;
+
+        for (int row = 0; row < map.rows; row++) {
+            for (int col = 0; col < map.cols; col++) {
+                int tileNum = map.get(col, row);
+                if (tileNum < 0 || tileNum >= tm.tile.length || tm.tile[tileNum] == null)
+                    continue;
+                if (!tm.tile[tileNum].collision)
+                    continue;
+
+                fill(solid, col * SUBDIVISIONS, row * SUBDIVISIONS,
+                        col * SUBDIVISIONS + SUBDIVISIONS - 1, row * SUBDIVISIONS + SUBDIVISIONS - 1);
+            }
+        }
+    }
+
+    private void addObjects(ObjectManager om) {
+        if (om == null)
+            return;
+
+        int count = om.placedObjectCount[mapIndex];
+        GameObject[] mapObjects = om.placedObjects[mapIndex];
+
+        for (int i = 0; i < count; i++) {
+            GameObject obj = mapObjects[i];
+            if (obj == null || !obj.collision || obj.hitW <= 0 || obj.hitH <= 0)
+                continue;
+
+            int c0 = Math.max(0, Math.floorDiv(obj.hitX, cellSize));
+            int r0 = Math.max(0, Math.floorDiv(obj.hitY, cellSize));
+            int c1 = Math.min(cellCols - 1, Math.floorDiv(obj.hitX + obj.hitW - 1, cellSize));
+            int r1 = Math.min(cellRows - 1, Math.floorDiv(obj.hitY + obj.hitH - 1, cellSize));
+            if (c0 > c1 || r0 > r1)
+                continue;
+
+            fill(objectHit, c0, r0, c1, r1);
+        }
+    }
+
+    private void fill(long[] bits, int c0, int r0, int c1, int r1) {
+        for (int r = r0; r <= r1; r++) {
+            int base = r * wordsPerRow;
+            for (int c = c0; c <= c1; c++) {
+                bits[base + (c >>> 6)] |= 1L << (c & 63);
+            }
+        }
+    }
+
+    // ================== QUERIES ==================
+
+    // Results of areaFlags()
+    public static final int FREE = 0;
+    public static final int SOLID = 1;        // definitely blocked
+    public static final int NEAR_OBJECT = 2;  // may touch an object hitbox
+
+    // Classify the world-pixel box (x, y, w, h). Anything outside the map is SOLID.
+    public int areaFlags(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0)
+            return FREE;
+
+        int c0 = Math.floorDiv(x, cellSize);
+        int r0 = Math.floorDiv(y, cellSize);
+        int c1 = Math.floorDiv(x + w - 1, cellSize);
+        int r1 = Math.floorDiv(y + h - 1, cellSize);
+
+        if (c0 < 0 || r0 < 0 || c1 >= cellCols || r1 >= cellRows)
+            return SOLID;
+
+        int flags = FREE;
+        int w0 = c0 >>> 6;
+        int w1 = c1 >>> 6;
+
+        for (int r = r0; r <= r1; r++) {
+            int base = r * wordsPerRow;
+            for (int wi = w0; wi <= w1; wi++) {
+                long mask = -1L;
+                if (wi == w0) mask &= -1L << (c0 & 63);
+                if (wi == w1) mask &= -1L >>> (63 - (c1 & 63));
+
+                if ((solid[base + wi] & mask) != 0)
+                    return SOLID;
+                if ((objectHit[base + wi] & mask) != 0)
+                    flags = NEAR_OBJECT;
+            }
+        }
+        return flags;
+    }
+
+    // Single cell test (tiles and object footprints, conservative)
+    public boolean isCellBlocked(int cellCol, int cellRow) {
+        if (cellCol < 0 || cellRow < 0 || cellCol >= cellCols || cellRow >= cellRows)
+            return true;
+        int word = cellRow * wordsPerRow + (cellCol >>> 6);
+        long bit = 1L << (cellCol & 63);
+        return ((solid[word] | objectHit[word]) & bit) != 0;
+    }
+
+    public boolean isPointBlocked(int worldX, int worldY) {
+        return isCellBlocked(Math.floorDiv(worldX, cellSize), Math.floorDiv(worldY, cellSize));
+    }
+
+    // Grid walk (Amanatides-Woo) between two world points; false as soon as
+    // a blocked cell is crossed. Object footprints count as blocking.
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        int col = Math.floorDiv(x0, cellSize);
+        int row = Math.floorDiv(y0, cellSize);
+        int endCol = Math.floorDiv(x1, cellSize);
+        int endRow = Math.floorDiv(y1, cellSize);
+
+        int dx = x1 - x0;
+        int dy = y1 - y0;
+        int stepX = Integer.signum(dx);
+        int stepY = Integer.signum(dy);
+
+        // distance (in "t" units, 0..1 along the segment) to the next cell border
+        double tDeltaX = dx == 0 ? Double.MAX_VALUE : (double) cellSize / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.MAX_VALUE : (double) cellSize / Math.abs(dy);
+        double tMaxX = dx == 0 ? Double.MAX_VALUE
+                : ((stepX > 0 ? (col + 1) * cellSize - x0 : x0 - col * cellSize) / (double) Math.abs(dx));
+        double tMaxY = dy == 0 ? Double.MAX_VALUE
+                : ((stepY > 0 ? (row + 1) * cellSize - y0 : y0 - row * cellSize) / (double) Math.abs(dy));
+
+        int maxSteps = Math.abs(endCol - col) + Math.abs(endRow - row) + 1;
+        for (int i = 0; i < maxSteps; i++) {
+            if (isCellBlocked(col, row))
+                return false;
+            if (col == endCol && row == endRow)
+                return true;
+
+            if (tMaxX < tMaxY) {
+                tMaxX += tDeltaX;
+                col += stepX;
+            } else {
+                tMaxY += tDeltaY;
+                row += stepY;
+            }
+        }
+        return !isCellBlocked(endCol, endRow);
+    }
+}
@@ -1,12 +1,14 @@
 package src.tile;
 
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import src.render.RenderSnapshot;
+import src.render.Renderable;
+import src.render.SpriteRegion;
 
-public class GameObject {
+public class GameObject implements Renderable {
 
     public String name;
-    public BufferedImage image;
+    public SpriteRegion sprite;      // null = invisible (or its map is not loaded)
 
     // true = blocks player, false = walkable / decorative
     public boolean collision = false;
@@ -22,13 +24,35 @@ public class GameObject {
     // ObjectManager will set the proper size in loadObjectTypes()
     public Rectangle solidArea = new Rectangle(0, 0, 0, 0);
 
+    // Collision box in WORLD pixels (solidArea scaled from image space),
+    // computed once when the object is placed
+    public int hitX, hitY, hitW, hitH;
+
     // for overlap / layering logic
     public boolean overlapWithPlayer = true;
 
+    // where the sprite comes from (null = invisible). Packed into the
+    // map's atlas only while the map is loaded, see ObjectManager.applySprites
+    public String[] spritePaths;
+    public int stripFrames = 0;      // > 0: spritePaths[0] is a strip of that many frames
+    public int typeIndex = -1;       // objectTypes[] entry this was placed from
+
     // === ANIMATION SUPPORT ===
     public boolean animated = false;
-    public BufferedImage[] frames;   // all animation frames
+    public SpriteRegion[] frames;    // all animation frames
     public int frameIndex = 0;       // current frame
     public int frameCounter = 0;     // counts game ticks
     public int frameSpeed = 6;       // how many ticks before switching frame
+
+    // base Y for depth sorting, set by ObjectManager at placement
+    // (Integer.MAX_VALUE = always drawn in front)
+    public int depthY;
+
+    public int getDepthY() {
+        return depthY;
+    }
+
+    public void submit(RenderSnapshot snapshot) {
+        snapshot.addRegion(sprite, worldX, worldY);
+    }
 }
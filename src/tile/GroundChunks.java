@@ -0,0 +1,300 @@
+package src.tile;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import src.render.Viewport;
+import src.util.ImageUtil;
+
+// Baked ground images for ONE map, cut into CHUNK_TILES x CHUNK_TILES chunks.
+//
+// Only the chunks around the camera are kept: stream() (update thread) asks
+// the baker thread for the ones coming into range and drops the ones that
+// went far out of range, so memory follows the screen size, not the map
+// size. The same goes for the tile IDs: the baker loads a chunk's tiles into
+// MapData before baking it, and dropping the image unloads them again.
+// draw() (render thread) blits whatever is baked and draws the tiles of a
+// chunk that isn't ready yet one by one.
+//
+// Every chunk has a version. setTile() and eviction bump it, and a bake
+// that started on an older version is thrown away and asked for again.
+public class GroundChunks {
+
+    // 16 tiles = 768px square (~2.3 MB per chunk); one MapData chunk
+    public static final int CHUNK_TILES = MapData.CHUNK_TILES;
+
+    // tiles around the viewport that are baked ahead of time
+    private static final int PRELOAD_TILES = 4;
+    // chunks further than this (in tiles) from the viewport are dropped
+    private static final int KEEP_TILES = PRELOAD_TILES + CHUNK_TILES;
+
+    // one low-priority thread bakes for every map
+    private static final ExecutorService baker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "GroundBaker");
+        t.setDaemon(true); // never keeps the game alive on exit
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    private static class Chunk {
+        final int col0, row0;   // first tile
+        final int cols, rows;   // tiles (edge chunks are smaller)
+
+        volatile BufferedImage image;
+        volatile int version;
+        boolean queued;         // guarded by the chunk
+
+        Chunk(int col0, int row0, int cols, int rows) {
+            this.col0 = col0;
+            this.row0 = row0;
+            this.cols = cols;
+            this.rows = rows;
+        }
+    }
+
+    private final TileManager tm;
+    private final int mapIndex;
+    private final MapData map;
+    private final int tileSize;
+
+    public final int chunkCols;
+    public final int chunkRows;
+    private final Chunk[] chunks; // row-major
+
+    public GroundChunks(TileManager tm, int mapIndex, MapData map, int tileSize) {
+        this.tm = tm;
+        this.mapIndex = mapIndex;
+        this.map = map;
+        this.tileSize = tileSize;
+
+        chunkCols = (map.cols + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunkRows = (map.rows + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunks = new Chunk[chunkCols * chunkRows];
+
+        for (int cy = 0; cy < chunkRows; cy++) {
+            for (int cx = 0; cx < chunkCols; cx++) {
+                int col0 = cx * CHUNK_TILES;
+                int row0 = cy * CHUNK_TILES;
+                chunks[cy * chunkCols + cx] = new Chunk(col0, row0,
+                        Math.min(CHUNK_TILES, map.cols - col0),
+                        Math.min(CHUNK_TILES, map.rows - row0));
+            }
+        }
+    }
+
+    // ================== STREAMING (update thread) ==================
+
+    // Queue bakes for the chunks around the view, drop the far ones
+    public void stream(Viewport view) {
+        int ts = tileSize;
+        int viewCol0 = Math.floorDiv(view.x, ts);
+        int viewRow0 = Math.floorDiv(view.y, ts);
+        int viewCol1 = Math.floorDiv(view.x + view.width - 1, ts);
+        int viewRow1 = Math.floorDiv(view.y + view.height - 1, ts);
+
+        // visible chunks first, then the preload ring
+        request(viewCol0, viewRow0, viewCol1, viewRow1);
+        request(viewCol0 - PRELOAD_TILES, viewRow0 - PRELOAD_TILES,
+                viewCol1 + PRELOAD_TILES, viewRow1 + PRELOAD_TILES);
+
+        int keepCx0 = Math.floorDiv(viewCol0 - KEEP_TILES, CHUNK_TILES);
+        int keepCy0 = Math.floorDiv(viewRow0 - KEEP_TILES, CHUNK_TILES);
+        int keepCx1 = Math.floorDiv(viewCol1 + KEEP_TILES, CHUNK_TILES);
+        int keepCy1 = Math.floorDiv(viewRow1 + KEEP_TILES, CHUNK_TILES);
+
+        for (int cy = 0; cy < chunkRows; cy++) {
+            for (int cx = 0; cx < chunkCols; cx++) {
+                if (cx < keepCx0 || cx > keepCx1 || cy < keepCy0 || cy > keepCy1) {
+                    evict(chunks[cy * chunkCols + cx]);
+                }
+            }
+        }
+    }
+
+    // bake every chunk touching tiles col0..col1 x row0..row1 that isn't there yet
+    private void request(int col0, int row0, int col1, int row1) {
+        int cx0 = Math.max(0, Math.floorDiv(col0, CHUNK_TILES));
+        int cy0 = Math.max(0, Math.floorDiv(row0, CHUNK_TILES));
+        int cx1 = Math.min(chunkCols - 1, Math.floorDiv(col1, CHUNK_TILES));
+        int cy1 = Math.min(chunkRows - 1, Math.floorDiv(row1, CHUNK_TILES));
+
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                Chunk chunk = chunks[cy * chunkCols + cx];
+                int version;
+                synchronized (chunk) {
+                    if (chunk.image != null || chunk.queued)
+                        continue;
+                    chunk.queued = true;
+                    version = chunk.version;
+                }
+                baker.execute(() -> bake(chunk, version));
+            }
+        }
+    }
+
+    private void evict(Chunk chunk) {
+        // every time: a load that raced with the last eviction goes too
+        map.unload(chunk.col0 / CHUNK_TILES, chunk.row0 / CHUNK_TILES);
+
+        synchronized (chunk) {
+            if (chunk.image == null && !chunk.queued)
+                return;
+            chunk.image = null;
+            chunk.version++; // a bake still in flight is thrown away
+        }
+    }
+
+    // Drop every baked chunk (map no longer shown)
+    public void evictAll() {
+        for (Chunk chunk : chunks) {
+            evict(chunk);
+        }
+    }
+
+    // A tile changed: patch the baked chunk, invalidate any bake in flight
+    public void tileChanged(int col, int row) {
+        Chunk chunk = chunks[(row / CHUNK_TILES) * chunkCols + col / CHUNK_TILES];
+
+        BufferedImage image;
+        synchronized (chunk) {
+            chunk.version++;
+            image = chunk.image;
+        }
+
+        if (image != null) {
+            Graphics2D g2 = image.createGraphics();
+            drawTile(g2, col, row, (col - chunk.col0) * tileSize, (row - chunk.row0) * tileSize);
+            g2.dispose();
+        }
+    }
+
+    // ================== BAKING (baker thread) ==================
+
+    // version = the chunk's version when it was queued
+    private void bake(Chunk chunk, int version) {
+        synchronized (chunk) {
+            if (chunk.version != version) {
+                // evicted (or changed) while waiting in the queue
+                chunk.queued = false;
+                return;
+            }
+        }
+
+        map.load(chunk.col0 / CHUNK_TILES, chunk.row0 / CHUNK_TILES);
+
+        BufferedImage image = ImageUtil.createCompatibleImage(
+                chunk.cols * tileSize, chunk.rows * tileSize, Transparency.OPAQUE);
+
+        Graphics2D g2 = image.createGraphics();
+        for (int r = 0; r < chunk.rows; r++) {
+            for (int c = 0; c < chunk.cols; c++) {
+                drawTile(g2, chunk.col0 + c, chunk.row0 + r, c * tileSize, r * tileSize);
+            }
+        }
+        g2.dispose();
+
+        synchronized (chunk) {
+            chunk.queued = false;
+            if (chunk.version == version) {
+                chunk.image = image;
+            }
+            // else: changed or evicted meanwhile; stream() asks again if needed
+        }
+    }
+
+    // one tile of this map at (x, y) in g2
+    private void drawTile(Graphics2D g2, int col, int row, int x, int y) {
+        int tileNum = map.get(col, row);
+        Tile[] tiles = tm.tile;
+
+        if (tileNum < 0 || tileNum >= tiles.length ||
+                tiles[tileNum] == null || tiles[tileNum].sprite == null) {
+            // fallback to local 0 of this map
+            tileNum = tm.tilesetStart[mapIndex];
+        }
+
+        // clear first so transparent tiles don't keep the old tile underneath
+        g2.setColor(Color.BLACK);
+        g2.fillRect(x, y, tileSize, tileSize);
+
+        if (tiles[tileNum] != null && tiles[tileNum].sprite != null) {
+            tiles[tileNum].sprite.draw(g2, x, y);
+        }
+    }
+
+    // ================== DRAW (render thread) ==================
+
+    public void draw(Graphics2D g2, Viewport view) {
+        if (view.isEmpty())
+            return;
+
+        int cx0 = view.firstCol / CHUNK_TILES;
+        int cy0 = view.firstRow / CHUNK_TILES;
+        int cx1 = view.lastCol / CHUNK_TILES;
+        int cy1 = view.lastRow / CHUNK_TILES;
+
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                Chunk chunk = chunks[cy * chunkCols + cx];
+                BufferedImage image = chunk.image;
+
+                if (image != null) {
+                    drawBaked(g2, view, chunk, image);
+                } else {
+                    drawTiles(g2, view, chunk);
+                }
+            }
+        }
+    }
+
+    // clipped blit of the visible part of a baked chunk
+    private void drawBaked(Graphics2D g2, Viewport view, Chunk chunk, BufferedImage image) {
+        int chunkX = chunk.col0 * tileSize;
+        int chunkY = chunk.row0 * tileSize;
+
+        int srcX1 = Math.max(0, view.x - chunkX);
+        int srcY1 = Math.max(0, view.y - chunkY);
+        int srcX2 = Math.min(image.getWidth(), view.x + view.width - chunkX);
+        int srcY2 = Math.min(image.getHeight(), view.y + view.height - chunkY);
+
+        if (srcX2 <= srcX1 || srcY2 <= srcY1)
+            return;
+
+        int dstX1 = chunkX + srcX1 - view.x;
+        int dstY1 = chunkY + srcY1 - view.y;
+
+        g2.drawImage(image,
+                dstX1, dstY1, dstX1 + (srcX2 - srcX1), dstY1 + (srcY2 - srcY1),
+                srcX1, srcY1, srcX2, srcY2,
+                null);
+    }
+
+    // not baked yet: draw its visible tiles straight from the atlas
+    private void drawTiles(Graphics2D g2, Viewport view, Chunk chunk) {
+        int col0 = Math.max(view.firstCol, chunk.col0);
+        int row0 = Math.max(view.firstRow, chunk.row0);
+        int col1 = Math.min(view.lastCol, chunk.col0 + chunk.cols - 1);
+        int row1 = Math.min(view.lastRow, chunk.row0 + chunk.rows - 1);
+
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                drawTile(g2, col, row, col * tileSize - view.x, row * tileSize - view.y);
+            }
+        }
+    }
+
+    // number of chunks currently baked (debug)
+    public int bakedCount() {
+        int n = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.image != null)
+                n++;
+        }
+        return n;
+    }
+}
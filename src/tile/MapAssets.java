@@ -0,0 +1,125 @@
+package src.tile;
+
+import java.util.Arrays;
+
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+
+// Which maps have their tileset and object sprites in memory.
+//
+// Each map packs its sprites into its own TextureAtlas when it becomes
+// current (enter()). The map that was left stays loaded for
+// RELEASE_DELAY_TICKS, so a frame still showing it has its sprites and
+// walking straight back costs nothing; then update() clears its atlas.
+// The source images were only borrowed while packing, so they are already
+// just idle entries the AssetCache can evict.
+//
+// Packing is split from installing: pack() may run ahead of time on a
+// loader thread (see MapPreloader), and enter() then only hands the
+// finished regions to the tiles and objects.
+public class MapAssets {
+
+    // ticks a left map stays loaded (half a second at 60 UPS)
+    private static final int RELEASE_DELAY_TICKS = 30;
+
+    private final TileManager tileManager;
+    private final ObjectManager objectManager;
+
+    private final TextureAtlas[] atlases = new TextureAtlas[TileManager.MAP_COUNT];
+
+    // ticks until a left map is released, -1 = not counting
+    private final int[] releaseIn = new int[TileManager.MAP_COUNT];
+
+    // A map's sprites packed into a fresh atlas, not handed out yet
+    public static class Pack {
+        final int mapIndex;
+        final TextureAtlas atlas;
+        final SpriteRegion[] tiles;
+        final SpriteRegion[][] objects;
+        final long nanos;
+
+        Pack(int mapIndex, TextureAtlas atlas, SpriteRegion[] tiles, SpriteRegion[][] objects, long nanos) {
+            this.mapIndex = mapIndex;
+            this.atlas = atlas;
+            this.tiles = tiles;
+            this.objects = objects;
+            this.nanos = nanos;
+        }
+    }
+
+    public MapAssets(TileManager tileManager, ObjectManager objectManager) {
+        this.tileManager = tileManager;
+        this.objectManager = objectManager;
+        Arrays.fill(releaseIn, -1);
+    }
+
+    // mapIndex is now the current map: load it, schedule the others
+    public void enter(int mapIndex) {
+        enter(mapIndex, null);
+    }
+
+    // same, using sprites packed ahead of time when there are any
+    public void enter(int mapIndex, Pack prepared) {
+        if (mapIndex < 0 || mapIndex >= atlases.length)
+            return;
+
+        if (atlases[mapIndex] == null) {
+            install(prepared != null && prepared.mapIndex == mapIndex ? prepared : pack(mapIndex));
+        } else if (prepared != null) {
+            prepared.atlas.clear(); // still loaded, not needed
+        }
+        releaseIn[mapIndex] = -1;
+
+        for (int i = 0; i < atlases.length; i++) {
+            if (i != mapIndex && atlases[i] != null && releaseIn[i] < 0) {
+                releaseIn[i] = RELEASE_DELAY_TICKS;
+            }
+        }
+    }
+
+    // once per tick
+    public void update() {
+        for (int i = 0; i < atlases.length; i++) {
+            if (releaseIn[i] > 0 && --releaseIn[i] == 0) {
+                release(i);
+            }
+        }
+    }
+
+    public boolean isLoaded(int mapIndex) {
+        return atlases[mapIndex] != null;
+    }
+
+    // Pack a map's tileset and object sprites (any thread)
+    public Pack pack(int mapIndex) {
+        long start = System.nanoTime();
+
+        TextureAtlas atlas = new TextureAtlas("map" + (mapIndex + 1));
+        SpriteRegion[] tiles = tileManager.packTileset(mapIndex, atlas);
+        SpriteRegion[][] objects = objectManager.packSprites(mapIndex, atlas);
+
+        return new Pack(mapIndex, atlas, tiles, objects, System.nanoTime() - start);
+    }
+
+    private void install(Pack pack) {
+        int mapIndex = pack.mapIndex;
+        tileManager.applyTileset(mapIndex, pack.tiles);
+        objectManager.applySprites(mapIndex, pack.objects);
+        atlases[mapIndex] = pack.atlas;
+
+        System.out.println("[MapAssets] Loaded map " + mapIndex + " sprites (" + pack.atlas.getRegionCount() +
+                " regions, " + pack.atlas.getPageCount() + " page(s)) in " +
+                pack.nanos / 1_000_000 + " ms");
+    }
+
+    private void release(int mapIndex) {
+        releaseIn[mapIndex] = -1;
+
+        tileManager.releaseTileset(mapIndex);
+        objectManager.releaseSprites(mapIndex);
+        atlases[mapIndex].clear();
+        atlases[mapIndex] = null;
+
+        System.out.println("[MapAssets] Released map " + mapIndex + " sprites");
+    }
+}
@@ -0,0 +1,39 @@
+package src.tile;
+
+import java.io.File;
+import java.io.IOException;
+
+// Packs the text map files into one binary .pqmap per map (see MapFile).
+// Run by build.bat after compiling:
+//
+//   java -cp out src.tile.MapConverter [mapDir]
+public class MapConverter {
+
+    public static void main(String[] args) {
+        String dir = args.length > 0 ? args[0] : MapFile.MAP_DIR;
+        int failed = 0;
+
+        for (int mapIndex = 0; mapIndex < TileManager.MAP_COUNT; mapIndex++) {
+            File out = MapFile.binaryFile(dir, mapIndex);
+            try {
+                MapFile map = MapFile.readText(dir, mapIndex);
+                map.writeBinary(out);
+
+                // read it back so a broken file fails the build, not the game
+                MapFile check = MapFile.readBinary(out);
+                if (check.cols != map.cols || check.rows != map.rows)
+                    throw new IOException("size mismatch after write");
+
+                System.out.println("[MapConverter] " + out.getPath() + ": " + map.cols + "x" + map.rows +
+                        ", " + map.layerBytes() + " bytes of layers");
+            } catch (IOException e) {
+                System.err.println("[MapConverter] Failed to write " + out.getPath() + ": " + e.getMessage());
+                failed++;
+            }
+        }
+
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package src.tile;
+
+import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Tile layer of one map, sized by its own map file, held in
+// CHUNK_TILES x CHUNK_TILES chunks.
+//
+// Only resident chunks take heap: GroundChunks loads the ones around the
+// camera on its baker thread (load()) and drops the far ones (unload()).
+// Any other tile is read straight from the map file's tile layer (memory-
+// mapped for a .pqmap), so collision, AI and off-screen lookups still see
+// the whole map without it being copied into memory.
+//
+// A chunk is a short[] of CHUNK_TILES * CHUNK_TILES global IDs, row-major
+// (edge chunks are padded). A chunk changed by set() stays resident until
+// the map is reloaded, since the file doesn't have the change.
+public class MapData {
+
+    // size used when a map file is missing or unreadable
+    public static final int DEFAULT_COLS = 31;
+    public static final int DEFAULT_ROWS = 21;
+
+    // 16 tiles: the same chunks GroundChunks bakes
+    public static final int CHUNK_TILES = 16;
+
+    public final int cols;
+    public final int rows;
+    public final int chunkCols;
+    public final int chunkRows;
+
+    private final ShortBuffer source; // local IDs, row-major; null = every tile is fillTile
+    private final int idOffset;       // local -> global ID
+    private final int fillTile;
+
+    private final AtomicReferenceArray<short[]> chunks; // null = not resident
+    private final boolean[] changed;                    // set() touched it (update thread)
+
+    // tiles from a map file layer (local IDs, converted with idOffset)
+    public MapData(int cols, int rows, ShortBuffer source, int idOffset) {
+        this(cols, rows, source, idOffset, 0);
+    }
+
+    // every tile is tileNum
+    public MapData(int cols, int rows, int tileNum) {
+        this(cols, rows, null, 0, tileNum);
+    }
+
+    private MapData(int cols, int rows, ShortBuffer source, int idOffset, int fillTile) {
+        this.cols = cols;
+        this.rows = rows;
+        this.source = source;
+        this.idOffset = idOffset;
+        this.fillTile = fillTile;
+
+        chunkCols = (cols + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunkRows = (rows + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunks = new AtomicReferenceArray<>(chunkCols * chunkRows);
+        changed = new boolean[chunkCols * chunkRows];
+    }
+
+    public boolean inBounds(int col, int row) {
+        return col >= 0 && row >= 0 && col < cols && row < rows;
+    }
+
+    public int index(int col, int row) {
+        return row * cols + col;
+    }
+
+    public int get(int col, int row) {
+        short[] chunk = chunks.get((row / CHUNK_TILES) * chunkCols + col / CHUNK_TILES);
+        if (chunk != null)
+            return chunk[(row % CHUNK_TILES) * CHUNK_TILES + col % CHUNK_TILES];
+
+        return source != null ? source.get(row * cols + col) + idOffset : fillTile;
+    }
+
+    // update thread; the chunk is loaded first if needed and then kept
+    public void set(int col, int row, int tileNum) {
+        int cx = col / CHUNK_TILES;
+        int cy = row / CHUNK_TILES;
+
+        short[] chunk = load(cx, cy);
+        chunk[(row % CHUNK_TILES) * CHUNK_TILES + col % CHUNK_TILES] = (short) tileNum;
+        changed[cy * chunkCols + cx] = true;
+    }
+
+    public int widthPixels(int tileSize) {
+        return cols * tileSize;
+    }
+
+    public int heightPixels(int tileSize) {
+        return rows * tileSize;
+    }
+
+    // ================== RESIDENCY ==================
+
+    // Make chunk (cx, cy) resident (baker thread, or set()). Reads its rows
+    // at their offsets in the layer; nothing else of the file is touched.
+    public short[] load(int cx, int cy) {
+        int i = cy * chunkCols + cx;
+        short[] chunk = chunks.get(i);
+        if (chunk != null)
+            return chunk;
+
+        chunk = new short[CHUNK_TILES * CHUNK_TILES];
+        int col0 = cx * CHUNK_TILES;
+        int row0 = cy * CHUNK_TILES;
+        int w = Math.min(CHUNK_TILES, cols - col0);
+        int h = Math.min(CHUNK_TILES, rows - row0);
+
+        for (int r = 0; r < h; r++) {
+            int at = r * CHUNK_TILES;
+            if (source != null) {
+                source.get((row0 + r) * cols + col0, chunk, at, w);
+                for (int c = 0; c < w; c++) {
+                    chunk[at + c] += idOffset;
+                }
+            } else {
+                for (int c = 0; c < w; c++) {
+                    chunk[at + c] = (short) fillTile;
+                }
+            }
+        }
+
+        // someone else (set() or another load) may have won meanwhile
+        return chunks.compareAndSet(i, null, chunk) ? chunk : chunks.get(i);
+    }
+
+    // Drop chunk (cx, cy) unless set() changed it (update thread)
+    public void unload(int cx, int cy) {
+        int i = cy * chunkCols + cx;
+        if (!changed[i]) {
+            chunks.set(i, null);
+        }
+    }
+
+    // number of chunks currently in memory (debug)
+    public int residentCount() {
+        int n = 0;
+        for (int i = 0; i < chunks.length(); i++) {
+            if (chunks.get(i) != null)
+                n++;
+        }
+        return n;
+    }
+}
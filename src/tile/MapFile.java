@@ -0,0 +1,272 @@
+package src.tile;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Every layer of one map (tiles, objects, items, mobs) in one container.
+//
+// Layers are cols x rows shorts, row-major, all the size of the tile grid.
+// Values are the same local IDs the text files use; the managers turn
+// them into global IDs as before. A layer the map doesn't have is null.
+//
+// On disk: assets/maps/mapN.pqmap, written by MapConverter from the text
+// files (mapN.txt, objectsN.txt, itemsN.txt, mobsmapN.txt) and read
+// through a memory-mapped FileChannel. Big-endian:
+//
+//   int   MAGIC ("PQMP")
+//   short VERSION
+//   short layer count
+//   int   cols, rows
+//   per layer: short layer id, short 0, int byte offset of its data
+//   layer data (cols * rows shorts each)
+//
+// load() only uses the binary file when it is newer than every text file
+// it was made from, so edited text maps are never shadowed by a stale one.
+public class MapFile {
+
+    public static final int MAGIC = 0x50514D50; // "PQMP"
+    public static final int VERSION = 1;
+
+    // layer ids
+    public static final int LAYER_TILES = 0;
+    public static final int LAYER_OBJECTS = 1;
+    public static final int LAYER_ITEMS = 2;
+    public static final int LAYER_MOBS = 3;
+    public static final int LAYER_COUNT = 4;
+
+    // value of a cell a text line doesn't reach, per layer
+    private static final short[] EMPTY = { 0, -1, -1, 0 };
+
+    private static final String[] TEXT_PREFIX = { "map", "objects", "items", "mobsmap" };
+
+    public static final String MAP_DIR = "assets" + File.separator + "maps" + File.separator;
+
+    public final int cols;
+    public final int rows;
+    private final ShortBuffer[] layers = new ShortBuffer[LAYER_COUNT];
+
+    public MapFile(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+    }
+
+    // layer data (read-only view, row-major), or null if the map has none
+    public ShortBuffer layer(int id) {
+        ShortBuffer layer = layers[id];
+        return layer != null ? layer.duplicate() : null;
+    }
+
+    public boolean hasLayer(int id) {
+        return layers[id] != null;
+    }
+
+    // ================== FILE NAMES ==================
+
+    public static File binaryFile(String dir, int mapIndex) {
+        return new File(dir, "map" + (mapIndex + 1) + ".pqmap");
+    }
+
+    public static File textFile(String dir, int layer, int mapIndex) {
+        return new File(dir, TEXT_PREFIX[layer] + (mapIndex + 1) + ".txt");
+    }
+
+    // ================== LOAD ==================
+
+    // Map mapIndex from assets/maps: the .pqmap if it is up to date,
+    // else parsed from the text files. Never null.
+    public static MapFile load(int mapIndex) {
+        File bin = binaryFile(MAP_DIR, mapIndex);
+
+        if (isUpToDate(bin, MAP_DIR, mapIndex)) {
+            try {
+                return readBinary(bin);
+            } catch (IOException e) {
+                System.out.println("[MapFile] Bad " + bin.getName() + " (" + e.getMessage() + ") → using text files");
+            }
+        }
+        return readText(MAP_DIR, mapIndex);
+    }
+
+    private static boolean isUpToDate(File bin, String dir, int mapIndex) {
+        if (!bin.isFile())
+            return false;
+        long built = bin.lastModified();
+        for (int layer = 0; layer < LAYER_COUNT; layer++) {
+            File text = textFile(dir, layer, mapIndex);
+            if (text.exists() && text.lastModified() > built)
+                return false;
+        }
+        return true;
+    }
+
+    // ================== BINARY ==================
+
+    public static MapFile readBinary(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buf.remaining() < 16 || buf.getInt() != MAGIC)
+                throw new IOException("not a map file");
+            int version = buf.getShort();
+            if (version != VERSION)
+                throw new IOException("unsupported version " + version);
+
+            int layerCount = buf.getShort();
+            int cols = buf.getInt();
+            int rows = buf.getInt();
+            if (cols <= 0 || rows <= 0 || layerCount < 0 || layerCount > LAYER_COUNT)
+                throw new IOException("bad header");
+
+            // in long: a corrupt size must fail here, not overflow past the checks
+            long bytes = (long) cols * rows * 2;
+            if (bytes > Integer.MAX_VALUE)
+                throw new IOException("map too big: " + cols + "x" + rows);
+
+            MapFile map = new MapFile(cols, rows);
+
+            for (int i = 0; i < layerCount; i++) {
+                int id = buf.getShort();
+                buf.getShort();
+                int offset = buf.getInt();
+                if (id < 0 || id >= LAYER_COUNT || offset < 0 || offset + bytes > buf.limit())
+                    throw new IOException("bad layer " + id);
+
+                map.layers[id] = buf.duplicate().position(offset).limit((int) (offset + bytes))
+                        .slice().asShortBuffer().asReadOnlyBuffer();
+            }
+            return map;
+        }
+    }
+
+    public void writeBinary(File file) throws IOException {
+        int layerCount = 0;
+        for (ShortBuffer layer : layers) {
+            if (layer != null)
+                layerCount++;
+        }
+
+        int offset = 16 + layerCount * 8;
+        int bytes = cols * rows * 2;
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(layerCount);
+            out.writeInt(cols);
+            out.writeInt(rows);
+
+            for (int id = 0; id < LAYER_COUNT; id++) {
+                if (layers[id] == null)
+                    continue;
+                out.writeShort(id);
+                out.writeShort(0);
+                out.writeInt(offset);
+                offset += bytes;
+            }
+
+            for (int id = 0; id < LAYER_COUNT; id++) {
+                ShortBuffer layer = layer(id);
+                if (layer == null)
+                    continue;
+                while (layer.hasRemaining()) {
+                    out.writeShort(layer.get());
+                }
+            }
+        }
+    }
+
+    // ================== TEXT ==================
+
+    // Whitespace-separated grids. The tile grid gives the map size: one
+    // line per row, the widest line sets the column count. The other
+    // layers are cut / padded to that size. Missing or empty files give
+    // no layer; a missing tile file gives a DEFAULT_COLS x DEFAULT_ROWS map
+    // without a tile layer.
+    public static MapFile readText(String dir, int mapIndex) {
+        List<String[]> tileLines = readLines(textFile(dir, LAYER_TILES, mapIndex));
+
+        int cols = 0;
+        if (tileLines != null) {
+            for (String[] line : tileLines)
+                cols = Math.max(cols, line.length);
+        }
+
+        MapFile map;
+        if (cols == 0) {
+            map = new MapFile(MapData.DEFAULT_COLS, MapData.DEFAULT_ROWS);
+        } else {
+            map = new MapFile(cols, tileLines.size());
+            map.layers[LAYER_TILES] = map.toLayer(tileLines, LAYER_TILES);
+        }
+
+        for (int layer = LAYER_OBJECTS; layer < LAYER_COUNT; layer++) {
+            List<String[]> lines = readLines(textFile(dir, layer, mapIndex));
+            if (lines != null && !lines.isEmpty()) {
+                map.layers[layer] = map.toLayer(lines, layer);
+            }
+        }
+        return map;
+    }
+
+    private ShortBuffer toLayer(List<String[]> lines, int layer) {
+        short[] cells = new short[cols * rows];
+        Arrays.fill(cells, EMPTY[layer]);
+
+        for (int row = 0; row < rows && row < lines.size(); row++) {
+            String[] values = lines.get(row);
+            for (int col = 0; col < cols && col < values.length; col++) {
+                try {
+                    cells[row * cols + col] = Short.parseShort(values[col]);
+                } catch (NumberFormatException e) {
+                    System.out.println("[MapFile] Bad value '" + values[col] + "' in " +
+                            TEXT_PREFIX[layer] + " at row=" + row + ", col=" + col);
+                }
+            }
+        }
+        return ShortBuffer.wrap(cells).asReadOnlyBuffer();
+    }
+
+    // non-empty lines split on whitespace, or null if the file is missing
+    private static List<String[]> readLines(File file) {
+        if (!file.exists())
+            return null;
+
+        List<String[]> lines = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty())
+                    lines.add(line.split("\\s+"));
+            }
+        } catch (IOException e) {
+            System.err.println("[MapFile] Failed to read " + file.getPath() + ": " + e.getMessage());
+            return null;
+        }
+        return lines;
+    }
+
+    // total bytes of layer data (for logs)
+    public int layerBytes() {
+        int n = 0;
+        for (ShortBuffer layer : layers) {
+            if (layer != null)
+                n += cols * rows * 2;
+        }
+        return n;
+    }
+}
@@ -1,11 +1,17 @@
 package src.tile;
 
 import src.core.GamePanel;
+import src.render.RenderQueue;
+import src.render.Viewport;
 
-import javax.imageio.ImageIO;
-import java.awt.*; // includes Rectangle and Graphics2D
+import java.awt.*; // includes Rectangle
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.util.AssetCache;
 
 public class ObjectManager {
 
@@ -24,13 +30,33 @@ public class ObjectManager {
     // how many objects are used per map
     public final int[] placedObjectCount;
 
+    // === COLLISION SPATIAL HASH ===
+    // Uniform grid of CELL_TILES x CELL_TILES tile cells per map. Each cell
+    // lists the colliding objects whose hitbox touches it, packed as
+    // cellItems[cellStart[c] .. cellStart[c + 1]) (indices into placedObjects).
+    private static final int CELL_TILES = 2;
+    private final int[][] cellStart;
+    private final int[][] cellItems;
+    private final int[] gridCols;
+    private final int[] gridRows;
+
+    // === DRAW INDEX ===
+    // objectAt[mapIndex][row * mapCols + col] = index of the object whose
+    // top-left tile is (col, row), or -1. Objects are placed one per tile, so
+    // drawing only has to look at the tiles in (and just above/left of) the
+    // viewport. maxObjectCols/Rows = biggest footprint on the map, in tiles.
+    private final int[][] objectAt;
+    private final int[] maxObjectCols;
+    private final int[] maxObjectRows;
+
+    // size (in tiles) of each map's tile layer, taken when its layout loads
+    private final int[] mapCols;
+    private final int[] mapRows;
+
     // Base directories
     private static final String OBJECT_ROOT_DIR = 
             "assets" + File.separator 
             + "objects" + File.separator;
-    private static final String MAP_DIR = 
-            "assets" + File.separator + 
-            "maps" + File.separator;
 
     // Number of maps (match TileManager)
     private static final int MAP_COUNT = TileManager.MAP_COUNT;
@@ -41,18 +67,27 @@ public class ObjectManager {
         objectTypes = new GameObject[64]; // all object types across all maps
         objectSetStart = new int[MAP_COUNT];
 
-        // For each map, allow up to width * height objects
-        int maxPerMap = gp.maxWorldCol * gp.maxWorldRow;
-        placedObjects = new GameObject[MAP_COUNT][maxPerMap];
+        // filled per map by loadObjectMap(), trimmed to what was placed
+        placedObjects = new GameObject[MAP_COUNT][0];
         placedObjectCount = new int[MAP_COUNT];
+        mapCols = new int[MAP_COUNT];
+        mapRows = new int[MAP_COUNT];
+
+        cellStart = new int[MAP_COUNT][];
+        cellItems = new int[MAP_COUNT][];
+        gridCols = new int[MAP_COUNT];
+        gridRows = new int[MAP_COUNT];
+        objectAt = new int[MAP_COUNT][];
+        maxObjectCols = new int[MAP_COUNT];
+        maxObjectRows = new int[MAP_COUNT];
 
         loadObjectTypes();
         System.out.println("Loaded object types: " + objectTypeCount);
 
         // === Load per-map object layouts ===
-        loadObjectMap("objects1.txt", 0); // objects for map index 0 (map1.txt)
-        loadObjectMap("objects2.txt", 1); // objects for map index 1 (map2.txt)
-        // loadObjectMap("objects3.txt", 2); // if you add a 3rd map
+        loadObjectMap(0); // objects for map index 0 (objects1)
+        loadObjectMap(1); // objects for map index 1 (objects2)
+        // loadObjectMap(2); // if you add a 3rd map
     }
 
     // Helper: register one STATIC object type
@@ -78,17 +113,18 @@ public class ObjectManager {
         obj.height = heightTiles;
         obj.overlapWithPlayer = overlapWithPlayer;
 
+        Dimension image = null;
         File imgFile = new File(basePath + fileName);
         if (imgFile.exists()) {
-            obj.image = ImageIO.read(imgFile);
+            image = imageSize(imgFile.getPath());
         } else {
             System.out.println("WARNING: Object image not found: " + imgFile.getPath());
         }
 
         // ===== DEFAULT HITBOX = BASE OF THE REAL SPRITE (IMAGE PIXELS) =====
-        if (obj.image != null) {
-            int spriteW = obj.image.getWidth();
-            int spriteH = obj.image.getHeight();
+        if (image != null) {
+            int spriteW = image.width;
+            int spriteH = image.height;
 
             // Only bottom 30% collidable (front/base area)
             int baseTop = (int) (spriteH * 0.7);
@@ -110,6 +146,9 @@ public class ObjectManager {
                     gp.tileSize * heightTiles);
         }
 
+        if (image != null) {
+            setSpriteSource(obj, new String[] { imgFile.getPath() }, 0, image.width, image.height);
+        }
         objectTypes[objectTypeCount] = obj;
         System.out.println("OBJECT TYPE " + objectTypeCount + " = " + debugName +
                 " (file: " + imgFile.getPath() + ")");
@@ -151,48 +190,23 @@ public class ObjectManager {
             return;
         }
 
-        BufferedImage sheet = ImageIO.read(imgFile);
-        int sheetW = sheet.getWidth();
-        int sheetH = sheet.getHeight();
-
-        int frameW = sheetW / frameCount;
-        int frameH = sheetH; // assumes 1 row
-
-        obj.frames = new BufferedImage[frameCount];
-        for (int i = 0; i < frameCount; i++) {
-            obj.frames[i] = sheet.getSubimage(
-                    i * frameW,
-                    0,
-                    frameW,
-                    frameH);
-        }
-
-        // start with first frame
-        obj.image = obj.frames[0];
+        Dimension sheet = imageSize(imgFile.getPath());
+        int frameW = sheet.width / frameCount;
+        int frameH = sheet.height; // assumes 1 row
 
         // ===== DEFAULT HITBOX = BASE OF THE REAL SPRITE (IMAGE PIXELS) =====
-        if (obj.image != null) {
-            int spriteW = obj.image.getWidth();
-            int spriteH = obj.image.getHeight();
-
-            int baseTop = (int) (spriteH * 0.7);
-            int baseHeight = spriteH - baseTop;
-            if (baseHeight < 1)
-                baseHeight = 1;
-
-            obj.solidArea = new Rectangle(
-                    0,
-                    baseTop,
-                    spriteW,
-                    baseHeight);
-        } else {
-            obj.solidArea = new Rectangle(
-                    0,
-                    0,
-                    gp.tileSize * widthTiles,
-                    gp.tileSize * heightTiles);
-        }
-
+        int baseTop = (int) (frameH * 0.7);
+        int baseHeight = frameH - baseTop;
+        if (baseHeight < 1)
+            baseHeight = 1;
+
+        obj.solidArea = new Rectangle(
+                0,
+                baseTop,
+                frameW,
+                baseHeight);
+
+        setSpriteSource(obj, new String[] { imgFile.getPath() }, frameCount, frameW, frameH);
         objectTypes[objectTypeCount] = obj;
         System.out.println("ANIMATED OBJECT TYPE " + objectTypeCount + " = " + debugName +
                 " (file: " + imgFile.getPath() + ", frames=" + frameCount + ")");
@@ -228,7 +242,7 @@ public class ObjectManager {
         obj.animated = true;
         obj.frameSpeed = frameSpeed;
 
-        obj.frames = new BufferedImage[frameCount];
+        String[] paths = new String[frameCount];
 
         int loaded = 0;
         for (int i = 0; i < frameCount; i++) {
@@ -240,7 +254,7 @@ public class ObjectManager {
                 break;
             }
 
-            obj.frames[i] = ImageIO.read(imgFile);
+            paths[i] = imgFile.getPath();
             loaded++;
         }
 
@@ -249,42 +263,33 @@ public class ObjectManager {
             return;
         }
 
-        // shrink array if fewer frames loaded
+        // shrink array if fewer frames found
         if (loaded < frameCount) {
-            BufferedImage[] trimmed = new BufferedImage[loaded];
-            System.arraycopy(obj.frames, 0, trimmed, 0, loaded);
-            obj.frames = trimmed;
+            paths = Arrays.copyOf(paths, loaded);
         }
 
-        // Use first frame as base image
-        obj.image = obj.frames[0];
+        // the first frame gives the size (frames are packed at the draw size)
+        Dimension image = imageSize(paths[0]);
 
         // ===== DEFAULT HITBOX = BASE OF THE REAL SPRITE (IMAGE PIXELS) =====
-        if (obj.image != null) {
-            int spriteW = obj.image.getWidth();
-            int spriteH = obj.image.getHeight();
+        int spriteW = image.width;
+        int spriteH = image.height;
 
-            int baseTop = (int) (spriteH * 0.7);
-            int baseHeight = spriteH - baseTop;
-            if (baseHeight < 1)
-                baseHeight = 1;
+        int baseTop = (int) (spriteH * 0.7);
+        int baseHeight = spriteH - baseTop;
+        if (baseHeight < 1)
+            baseHeight = 1;
 
-            obj.solidArea = new Rectangle(
-                    0,
-                    baseTop,
-                    spriteW,
-                    baseHeight);
-        } else {
-            obj.solidArea = new Rectangle(
-                    0,
-                    0,
-                    gp.tileSize * widthTiles,
-                    gp.tileSize * heightTiles);
-        }
+        obj.solidArea = new Rectangle(
+                0,
+                baseTop,
+                spriteW,
+                baseHeight);
 
+        setSpriteSource(obj, paths, 0, image.width, image.height);
         objectTypes[objectTypeCount] = obj;
         System.out.println("ANIMATED OBJECT TYPE " + objectTypeCount + " = " + debugName +
-                " (baseName=" + baseName + ", frames=" + obj.frames.length + ")");
+                " (baseName=" + baseName + ", frames=" + paths.length + ")");
         objectTypeCount++;
     }
 
@@ -419,7 +424,7 @@ public class ObjectManager {
             invis.overlapWithPlayer = false;
             invis.width = 1;
             invis.height = 1;
-            invis.image = null; // invisible
+            invis.sprite = null; // invisible
 
             // full 1x1 tile solid area in local coords (will be offset by worldX/worldY)
             invis.solidArea = new Rectangle(
@@ -460,47 +465,44 @@ public class ObjectManager {
     }
 
     // === MULTI-MAP OBJECT LOADING ===
-    // Load objectsX.txt as a grid with LOCAL IDs, like tiles
-    private void loadObjectMap(String fileName, int mapIndex) {
+    // Objects layer of the map file: a grid with LOCAL IDs, like tiles
+    private void loadObjectMap(int mapIndex) {
         if (mapIndex < 0 || mapIndex >= MAP_COUNT) {
             System.out.println("Invalid mapIndex in loadObjectMap: " + mapIndex);
             return;
         }
 
-        File mapFile = new File(MAP_DIR + fileName);
+        ShortBuffer layer = gp.tileManager.getMapFile(mapIndex).layer(MapFile.LAYER_OBJECTS);
 
-        if (!mapFile.exists()) {
-            System.out.println("Object map not found: " + fileName +
+        if (layer == null) {
+            System.out.println("Object map not found: objects" + (mapIndex + 1) +
                     " -> no objects for map " + mapIndex);
             return;
         }
 
-        int maxPerMap = placedObjects[mapIndex].length;
+        // the layout covers the map's own tile grid; at most one object per tile
+        MapData map = gp.tileManager.getMap(mapIndex);
+        mapCols[mapIndex] = map.cols;
+        mapRows[mapIndex] = map.rows;
+
+        int maxPerMap = map.cols * map.rows;
+        GameObject[] placed = new GameObject[maxPerMap];
         int count = 0;
         int setStart = objectSetStart[mapIndex];
 
-        try (BufferedReader br = new BufferedReader(new FileReader(mapFile))) {
+        try {
 
-            for (int row = 0; row < gp.maxWorldRow; row++) {
+            for (int row = 0; row < map.rows; row++) {
 
-                String line = br.readLine();
-                if (line == null) {
-                    // No more lines: treat remaining rows as empty
-                    break;
-                }
+                int base = row * map.cols;
 
-                // Split on ANY whitespace
-                String[] values = line.trim().split("\\s+");
-
-                for (int col = 0; col < gp.maxWorldCol; col++) {
+                for (int col = 0; col < map.cols; col++) {
 
                     int globalIndex = -1; // default = empty
 
-                    if (col < values.length) {
-                        int localId = Integer.parseInt(values[col]); // 0,1,2,... per map
-                        if (localId >= 0) {
-                            globalIndex = setStart + localId;
-                        }
+                    int localId = layer.get(base + col); // 0,1,2,... per map
+                    if (localId >= 0) {
+                        globalIndex = setStart + localId;
                     }
 
                     if (globalIndex >= 0 && globalIndex < objectTypeCount) {
@@ -512,13 +514,14 @@ public class ObjectManager {
                         if (count >= maxPerMap) {
                             System.out.println(
                                     "WARNING: placedObjects[" + mapIndex + "] is full, skipping extra objects.");
-                            placedObjectCount[mapIndex] = count;
-                            return;
+                            break;
                         }
 
                         GameObject obj = new GameObject();
                         obj.name = baseType.name;
-                        obj.image = baseType.image;
+                        obj.typeIndex = globalIndex;
+                        obj.spritePaths = baseType.spritePaths;
+                        obj.sprite = baseType.sprite;
                         obj.collision = baseType.collision;
                         obj.width = baseType.width;
                         obj.height = baseType.height;
@@ -544,8 +547,15 @@ public class ObjectManager {
                         // This cell’s world coords line up with the TILE grid
                         obj.worldX = col * gp.tileSize;
                         obj.worldY = row * gp.tileSize;
+                        computeHitbox(obj);
+
+                        // sorted by the bottom of the sprite; objects that
+                        // don't overlap are always drawn in front
+                        obj.depthY = obj.overlapWithPlayer
+                                ? obj.worldY + gp.tileSize * obj.height
+                                : Integer.MAX_VALUE;
 
-                        placedObjects[mapIndex][count++] = obj;
+                        placed[count++] = obj;
 
                         // Debug
                         System.out.println("Map " + mapIndex + " → placed " + obj.name +
@@ -556,251 +566,370 @@ public class ObjectManager {
             }
 
         } catch (Exception e) {
-            System.out.println("ERROR: Cannot load object map: " + fileName);
+            System.out.println("ERROR: Cannot load object map for map " + mapIndex);
             e.printStackTrace();
         }
 
+        placedObjects[mapIndex] = Arrays.copyOf(placed, count);
         placedObjectCount[mapIndex] = count;
         System.out.println("Map " + mapIndex + " total placed objects: " + count);
+
+        buildSpatialHash(mapIndex);
+        buildDrawIndex(mapIndex);
+        gp.collision.invalidate(mapIndex);
     }
 
-    // ====================== UPDATE: ANIMATE OBJECTS ======================
+    // ====================== COLLISION PRECOMPUTE ======================
 
-    public void update() {
-        int mapIndex = gp.currentMap;
-        int count = placedObjectCount[mapIndex];
-        GameObject[] mapObjects = placedObjects[mapIndex];
+    // Hitbox in world pixels, once at placement. solidArea is already in
+    // draw pixels (setSpriteSource converted it from image pixels).
+    private void computeHitbox(GameObject obj) {
+        obj.hitW = 0;
+        obj.hitH = 0;
 
-        for (int i = 0; i < count; i++) {
-            GameObject obj = mapObjects[i];
-            if (obj == null)
-                continue;
-            if (!obj.animated)
-                continue;
-            if (obj.frames == null || obj.frames.length == 0)
-                continue;
+        if (obj.solidArea == null)
+            return;
 
-            obj.frameCounter++;
-            if (obj.frameCounter >= obj.frameSpeed) {
-                obj.frameCounter = 0;
-                obj.frameIndex = (obj.frameIndex + 1) % obj.frames.length;
-                obj.image = obj.frames[obj.frameIndex];
-            }
+        obj.hitX = obj.worldX + obj.solidArea.x;
+        obj.hitY = obj.worldY + obj.solidArea.y;
+        obj.hitW = obj.solidArea.width;
+        obj.hitH = obj.solidArea.height;
+    }
+
+    // Pixel size of a sprite image, only held while measuring: the images
+    // themselves are loaded again when a map packs its atlas (see MapAssets)
+    private static Dimension imageSize(String path) throws IOException {
+        BufferedImage image = AssetCache.acquire(path);
+        if (image == null)
+            throw new IOException("Can't read input file: " + path);
+        try {
+            return new Dimension(image.getWidth(), image.getHeight());
+        } finally {
+            AssetCache.release(path);
         }
     }
 
-    // Draw objects using the same camera as TileManager
-    public void draw(Graphics2D g2) {
+    // Remember where a type's frames come from (they are packed when its
+    // map is loaded, see packSprites) and convert solidArea from image
+    // pixels to draw pixels, rounded the same way the hitboxes always were.
+    private void setSpriteSource(GameObject obj, String[] paths, int stripFrames, int imgW, int imgH) {
+        int drawW = gp.tileSize * obj.width;
+        int drawH = gp.tileSize * obj.height;
+        if (paths == null || paths.length == 0 ||
+                drawW <= 0 || drawH <= 0 || imgW <= 0 || imgH <= 0)
+            return;
+
+        if (obj.solidArea != null) {
+            double scaleX = (double) drawW / imgW;
+            double scaleY = (double) drawH / imgH;
+            obj.solidArea = new Rectangle(
+                    (int) Math.round(obj.solidArea.x * scaleX),
+                    (int) Math.round(obj.solidArea.y * scaleY),
+                    (int) Math.round(obj.solidArea.width * scaleX),
+                    (int) Math.round(obj.solidArea.height * scaleY));
+        }
+
+        obj.spritePaths = paths;
+        obj.stripFrames = stripFrames;
+    }
 
-        int screenW = gp.getWidth() > 0 ? gp.getWidth() : gp.screenWidth;
-        int screenH = gp.getHeight() > 0 ? gp.getHeight() : gp.screenHeight;
+    // ====================== PER-MAP SPRITES ======================
 
-        int mapIndex = gp.currentMap;
+    // objectTypes[] indices of a map's object set: objectSetStart[mapIndex] .. end - 1
+    private int objectSetEnd(int mapIndex) {
+        return mapIndex + 1 < MAP_COUNT ? objectSetStart[mapIndex + 1] : objectTypeCount;
+    }
+
+    // Frames of every object type of a map packed into its atlas, indexed
+    // by type - objectSetStart[mapIndex]. Only reads what the types were
+    // built with, so it may run on a loader thread (see MapPreloader).
+    public SpriteRegion[][] packSprites(int mapIndex, TextureAtlas atlas) {
+        int start = objectSetStart[mapIndex];
+        SpriteRegion[][] packed = new SpriteRegion[objectSetEnd(mapIndex) - start][];
+
+        for (int t = start; t < objectSetEnd(mapIndex); t++) {
+            GameObject type = objectTypes[t];
+            if (type != null && type.spritePaths != null) {
+                packed[t - start] = packFrames(type, atlas);
+            }
+        }
+        return packed;
+    }
+
+    // Hand packed frames to a map's object types and the objects placed on it
+    public void applySprites(int mapIndex, SpriteRegion[][] packed) {
+        int start = objectSetStart[mapIndex];
+        for (int t = start; t < objectSetEnd(mapIndex); t++) {
+            GameObject type = objectTypes[t];
+            SpriteRegion[] regions = packed[t - start];
+            if (type == null || regions == null)
+                continue;
+
+            type.sprite = regions[0];
+            type.frames = type.animated ? regions : null;
+        }
 
         int count = placedObjectCount[mapIndex];
         GameObject[] mapObjects = placedObjects[mapIndex];
-
         for (int i = 0; i < count; i++) {
             GameObject obj = mapObjects[i];
-            if (obj == null || obj.image == null)
-                continue; // invisible ones are not drawn
-
-            int worldX = obj.worldX;
-            int worldY = obj.worldY;
-
-            int screenX = worldX - gp.cameraX;
-            int screenY = worldY - gp.cameraY;
-
-            boolean visible = screenX + gp.tileSize * obj.width > 0 &&
-                    screenX < screenW &&
-                    screenY + gp.tileSize * obj.height > 0 &&
-                    screenY < screenH;
-
-            if (visible) {
-                g2.drawImage(
-                        obj.image,
-                        screenX,
-                        screenY,
-                        gp.tileSize * obj.width,
-                        gp.tileSize * obj.height,
-                        null);
+            if (obj.typeIndex < 0)
+                continue;
+
+            GameObject type = objectTypes[obj.typeIndex];
+            obj.frames = type.frames;
+            obj.sprite = obj.frames != null
+                    ? obj.frames[obj.frameIndex % obj.frames.length]
+                    : type.sprite;
+        }
+    }
+
+    public void releaseSprites(int mapIndex) {
+        for (int t = objectSetStart[mapIndex]; t < objectSetEnd(mapIndex); t++) {
+            GameObject type = objectTypes[t];
+            if (type != null) {
+                type.sprite = null;
+                type.frames = null;
             }
         }
+
+        int count = placedObjectCount[mapIndex];
+        GameObject[] mapObjects = placedObjects[mapIndex];
+        for (int i = 0; i < count; i++) {
+            mapObjects[i].sprite = null;
+            mapObjects[i].frames = null;
+        }
     }
 
-    // Collision helper: used by GamePanel.isObjectBlocked → Collision.willCollide
-    public boolean isBlocked(int nextWorldX, int nextWorldY, Rectangle entityArea) {
+    // every frame of a type at its draw size
+    private SpriteRegion[] packFrames(GameObject type, TextureAtlas atlas) {
+        int drawW = gp.tileSize * type.width;
+        int drawH = gp.tileSize * type.height;
 
-        if (entityArea == null)
-            return false;
+        if (type.stripFrames <= 0) {
+            return atlas.getAll(type.spritePaths, drawW, drawH, false);
+        }
 
-        // Entity collision box at its next world position
-        Rectangle entityBox = new Rectangle(
-                nextWorldX + entityArea.x,
-                nextWorldY + entityArea.y,
-                entityArea.width,
-                entityArea.height);
+        // one horizontal strip
+        SpriteRegion[] regions = new SpriteRegion[type.stripFrames];
+        String path = type.spritePaths[0];
+        BufferedImage sheet = AssetCache.acquire(path);
+        if (sheet == null)
+            return regions;
+
+        try {
+            int frameW = sheet.getWidth() / type.stripFrames;
+            for (int i = 0; i < type.stripFrames; i++) {
+                regions[i] = atlas.add(sheet.getSubimage(i * frameW, 0, frameW, sheet.getHeight()),
+                        drawW, drawH, false);
+            }
+        } finally {
+            AssetCache.release(path);
+        }
+        return regions;
+    }
+
+    // Bucket every colliding object of a map into the grid cells its hitbox covers
+    private void buildSpatialHash(int mapIndex) {
+        int cellSize = gp.tileSize * CELL_TILES;
+        int cols = (mapCols[mapIndex] + CELL_TILES - 1) / CELL_TILES;
+        int rows = (mapRows[mapIndex] + CELL_TILES - 1) / CELL_TILES;
+        int cells = cols * rows;
 
-        int mapIndex = gp.currentMap;
         int count = placedObjectCount[mapIndex];
         GameObject[] mapObjects = placedObjects[mapIndex];
 
+        // pass 1: how many objects per cell
+        int[] start = new int[cells + 1];
         for (int i = 0; i < count; i++) {
             GameObject obj = mapObjects[i];
-            if (obj == null)
-                continue;
-            if (!obj.collision)
-                continue; // only block if collision = true
-            if (obj.solidArea == null)
+            if (!isSolid(obj))
                 continue;
+            int c0 = clamp(obj.hitX / cellSize, cols), c1 = clamp((obj.hitX + obj.hitW - 1) / cellSize, cols);
+            int r0 = clamp(obj.hitY / cellSize, rows), r1 = clamp((obj.hitY + obj.hitH - 1) / cellSize, rows);
+            for (int r = r0; r <= r1; r++)
+                for (int c = c0; c <= c1; c++)
+                    start[r * cols + c + 1]++;
+        }
+        for (int c = 0; c < cells; c++)
+            start[c + 1] += start[c];
 
-            Rectangle objBox;
-
-            if (obj.image == null) {
-                // Invisible / non-sprite objects: solidArea is already in local world units
-                int hitX = obj.worldX + obj.solidArea.x;
-                int hitY = obj.worldY + obj.solidArea.y;
-                int hitW = obj.solidArea.width;
-                int hitH = obj.solidArea.height;
-                objBox = new Rectangle(hitX, hitY, hitW, hitH);
-            } else {
-                // --- SCALE HITBOX FROM IMAGE SPACE → WORLD SPACE ---
-
-                // The sprite is drawn scaled to tileSize * width/height
-                int drawW = gp.tileSize * obj.width;
-                int drawH = gp.tileSize * obj.height;
-
-                int imgW = obj.image.getWidth();
-                int imgH = obj.image.getHeight();
+        // pass 2: fill
+        int[] items = new int[start[cells]];
+        int[] fill = new int[cells];
+        System.arraycopy(start, 0, fill, 0, cells);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = mapObjects[i];
+            if (!isSolid(obj))
+                continue;
+            int c0 = clamp(obj.hitX / cellSize, cols), c1 = clamp((obj.hitX + obj.hitW - 1) / cellSize, cols);
+            int r0 = clamp(obj.hitY / cellSize, rows), r1 = clamp((obj.hitY + obj.hitH - 1) / cellSize, rows);
+            for (int r = r0; r <= r1; r++)
+                for (int c = c0; c <= c1; c++)
+                    items[fill[r * cols + c]++] = i;
+        }
 
-                if (imgW <= 0 || imgH <= 0) {
-                    continue; // safety
-                }
+        cellStart[mapIndex] = start;
+        cellItems[mapIndex] = items;
+        gridCols[mapIndex] = cols;
+        gridRows[mapIndex] = rows;
+    }
 
-                double scaleX = (double) drawW / imgW;
-                double scaleY = (double) drawH / imgH;
+    // Anchor tile -> object lookup used by queueVisible()
+    private void buildDrawIndex(int mapIndex) {
+        int cols = mapCols[mapIndex];
+        int rows = mapRows[mapIndex];
+        int[] at = new int[cols * rows];
+        Arrays.fill(at, -1);
+        int maxCols = 1;
+        int maxRows = 1;
 
-                int hitX = obj.worldX + (int) Math.round(obj.solidArea.x * scaleX);
-                int hitY = obj.worldY + (int) Math.round(obj.solidArea.y * scaleY);
-                int hitW = (int) Math.round(obj.solidArea.width * scaleX);
-                int hitH = (int) Math.round(obj.solidArea.height * scaleY);
+        int count = placedObjectCount[mapIndex];
+        GameObject[] mapObjects = placedObjects[mapIndex];
+        for (int i = 0; i < count; i++) {
+            GameObject obj = mapObjects[i];
+            if (obj == null || obj.spritePaths == null)
+                continue; // invisible ones are never drawn
 
-                // Object collision box in world coordinates
-                objBox = new Rectangle(hitX, hitY, hitW, hitH);
-            }
+            int col = obj.worldX / gp.tileSize;
+            int row = obj.worldY / gp.tileSize;
+            if (col < 0 || row < 0 || col >= cols || row >= rows)
+                continue;
 
-            if (entityBox.intersects(objBox)) {
-                return true;
-            }
+            at[row * cols + col] = i;
+            maxCols = Math.max(maxCols, obj.width);
+            maxRows = Math.max(maxRows, obj.height);
         }
 
-        return false;
+        objectAt[mapIndex] = at;
+        maxObjectCols[mapIndex] = maxCols;
+        maxObjectRows[mapIndex] = maxRows;
     }
 
-    // ================== LAYERED DRAWING FOR OVERLAP EFFECT ==================
-    public void drawBehindPlayer(Graphics2D g2, int playerFeetRow) {
+    private static boolean isSolid(GameObject obj) {
+        return obj != null && obj.collision && obj.hitW > 0 && obj.hitH > 0;
+    }
 
-        int screenW = gp.getWidth() > 0 ? gp.getWidth() : gp.screenWidth;
-        int screenH = gp.getHeight() > 0 ? gp.getHeight() : gp.screenHeight;
+    private static int clamp(int cell, int size) {
+        if (cell < 0) return 0;
+        if (cell >= size) return size - 1;
+        return cell;
+    }
 
+    // ====================== UPDATE: ANIMATE OBJECTS ======================
+
+    public void update() {
         int mapIndex = gp.currentMap;
         int count = placedObjectCount[mapIndex];
         GameObject[] mapObjects = placedObjects[mapIndex];
 
         for (int i = 0; i < count; i++) {
             GameObject obj = mapObjects[i];
-            if (obj == null || obj.image == null)
-                continue; // invisible not drawn
-
-            // Objects that do not overlap the player are always drawn in front
-            if (!obj.overlapWithPlayer) {
+            if (obj == null)
+                continue;
+            if (!obj.animated)
                 continue;
+            if (obj.frames == null || obj.frames.length == 0)
+                continue;
+
+            obj.frameCounter++;
+            if (obj.frameCounter >= obj.frameSpeed) {
+                obj.frameCounter = 0;
+                obj.frameIndex = (obj.frameIndex + 1) % obj.frames.length;
+                obj.sprite = obj.frames[obj.frameIndex];
             }
+        }
+    }
 
-            int worldX = obj.worldX;
-            int worldY = obj.worldY;
+    // Queue the objects of the current map that show in the viewport.
+    // Only tiles in the viewport (widened up/left by the biggest footprint,
+    // for objects that start off screen) are looked at.
+    public void queueVisible(RenderQueue queue, Viewport view) {
 
-            int screenX = worldX - gp.cameraX;
-            int screenY = worldY - gp.cameraY;
+        int mapIndex = gp.currentMap;
+        int[] at = objectAt[mapIndex];
+        if (at == null || view.isEmpty())
+            return;
 
-            boolean visible = screenX + gp.tileSize * obj.width > 0 &&
-                    screenX < screenW &&
-                    screenY + gp.tileSize * obj.height > 0 &&
-                    screenY < screenH;
+        GameObject[] mapObjects = placedObjects[mapIndex];
 
-            if (!visible)
-                continue;
+        int cols = mapCols[mapIndex];
+        int lastCol = Math.min(view.lastCol, cols - 1);
+        int lastRow = Math.min(view.lastRow, mapRows[mapIndex] - 1);
+
+        int col0 = Math.max(0, view.firstCol - (maxObjectCols[mapIndex] - 1));
+        int row0 = Math.max(0, view.firstRow - (maxObjectRows[mapIndex] - 1));
+
+        for (int row = row0; row <= lastRow; row++) {
+            int base = row * cols;
+            for (int col = col0; col <= lastCol; col++) {
+                int index = at[base + col];
+                if (index < 0)
+                    continue;
 
-            // Bottom of sprite in world → base tile row
-            int objBottomY = obj.worldY + gp.tileSize * obj.height;
-            int objBaseRow = (objBottomY - 1) / gp.tileSize;
-
-            // ---- RULE: if object's base row is ABOVE player's feet row → BEHIND ----
-            if (objBaseRow < playerFeetRow) {
-                g2.drawImage(
-                        obj.image,
-                        screenX,
-                        screenY,
-                        gp.tileSize * obj.width,
-                        gp.tileSize * obj.height,
-                        null);
+                GameObject obj = mapObjects[index];
+                if (view.intersects(obj.worldX, obj.worldY,
+                        gp.tileSize * obj.width, gp.tileSize * obj.height)) {
+                    queue.add(obj);
+                }
             }
         }
     }
 
-    public void drawInFrontOfPlayer(Graphics2D g2, int playerFeetRow) {
+    // Collision helper: used by GamePanel.isObjectBlocked → Collision.willCollide
+    // Only looks at the spatial hash cells under the entity box; no allocation.
+    public boolean isBlocked(int nextWorldX, int nextWorldY, Rectangle entityArea) {
+
+        if (entityArea == null)
+            return false;
+
+        // Entity collision box at its next world position
+        return isBoxBlocked(
+                nextWorldX + entityArea.x,
+                nextWorldY + entityArea.y,
+                entityArea.width,
+                entityArea.height);
+    }
+
+    // Same test for a box already in world pixels
+    public boolean isBoxBlocked(int boxX, int boxY, int boxW, int boxH) {
 
-        int screenW = gp.getWidth() > 0 ? gp.getWidth() : gp.screenWidth;
-        int screenH = gp.getHeight() > 0 ? gp.getHeight() : gp.screenHeight;
+        if (boxW <= 0 || boxH <= 0)
+            return false;
 
         int mapIndex = gp.currentMap;
-        int count = placedObjectCount[mapIndex];
-        GameObject[] mapObjects = placedObjects[mapIndex];
-
-        for (int i = 0; i < count; i++) {
-            GameObject obj = mapObjects[i];
-            if (obj == null || obj.image == null)
-                continue; // invisible not drawn
+        int[] start = cellStart[mapIndex];
+        if (start == null)
+            return false; // no objects loaded for this map
 
-            int worldX = obj.worldX;
-            int worldY = obj.worldY;
+        int cellSize = gp.tileSize * CELL_TILES;
+        int cols = gridCols[mapIndex];
+        int rows = gridRows[mapIndex];
 
-            int screenX = worldX - gp.cameraX;
-            int screenY = worldY - gp.cameraY;
+        int c0 = clamp(Math.floorDiv(boxX, cellSize), cols);
+        int c1 = clamp(Math.floorDiv(boxX + boxW - 1, cellSize), cols);
+        int r0 = clamp(Math.floorDiv(boxY, cellSize), rows);
+        int r1 = clamp(Math.floorDiv(boxY + boxH - 1, cellSize), rows);
 
-            boolean visible = screenX + gp.tileSize * obj.width > 0 &&
-                    screenX < screenW &&
-                    screenY + gp.tileSize * obj.height > 0 &&
-                    screenY < screenH;
+        int[] items = cellItems[mapIndex];
+        GameObject[] mapObjects = placedObjects[mapIndex];
 
-            if (!visible)
-                continue;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                for (int k = start[cell]; k < start[cell + 1]; k++) {
+                    GameObject obj = mapObjects[items[k]];
 
-            int objBottomY = obj.worldY + gp.tileSize * obj.height;
-            int objBaseRow = (objBottomY - 1) / gp.tileSize;
-
-            if (obj.overlapWithPlayer) {
-                // ---- RULE: base row AT or BELOW player's feet row → IN FRONT ----
-                if (objBaseRow >= playerFeetRow) {
-                    g2.drawImage(
-                            obj.image,
-                            screenX,
-                            screenY,
-                            gp.tileSize * obj.width,
-                            gp.tileSize * obj.height,
-                            null);
+                    // same test as Rectangle.intersects, on plain ints
+                    if (boxX < obj.hitX + obj.hitW && obj.hitX < boxX + boxW &&
+                            boxY < obj.hitY + obj.hitH && obj.hitY < boxY + boxH) {
+                        return true;
+                    }
                 }
-            } else {
-                // Non-overlap objects: always drawn in this "front" pass
-                g2.drawImage(
-                        obj.image,
-                        screenX,
-                        screenY,
-                        gp.tileSize * obj.width,
-                        gp.tileSize * obj.height,
-                        null);
             }
         }
+
+        return false;
     }
 
 }
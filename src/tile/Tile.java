@@ -1,10 +1,11 @@
 //used to print tiles(?)
 package src.tile;
 
-import java.awt.image.BufferedImage;
+import src.render.SpriteRegion;
 
 public class Tile {
-    public BufferedImage image;
+    public String imagePath;     // null = no image
+    public SpriteRegion sprite;  // null while the map's tileset isn't loaded
     public boolean collision = false;
 
 }
\ No newline at end of file
@@ -1,22 +1,25 @@
 package src.tile;
 
 import java.awt.Graphics2D;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
-
-import javax.imageio.ImageIO;
+import java.nio.ShortBuffer;
 
 import src.core.GamePanel;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.render.Viewport;
 
 public class TileManager {
 
     GamePanel gp;
     public Tile[] tile;
 
-    // [mapIndex][col][row] = tile ID from tile[]
-    public int[][][] mapTileNum;
+    // tile IDs (from tile[]) of each map, sized by its own map file;
+    // only the chunks around the camera are held in memory (see MapData)
+    public final MapData[] maps;
+
+    // every layer of each map as loaded (objects/items/mobs read theirs here)
+    private final MapFile[] mapFiles = new MapFile[MAP_COUNT];
 
     // counts how many tiles are registered in tile[]
     private int tileTypeCount = 0;
@@ -27,43 +30,21 @@ public class TileManager {
     // starting index in tile[] for each map's tileset
     public int[] tilesetStart = new int[MAP_COUNT];
 
+    // ===== GROUND LAYER CACHE =====
+    // pre-rendered tile layer per map, in chunks baked around the camera
+    // (see GroundChunks); reset on loadMap() and patched by setTile()
+    private final GroundChunks[] ground = new GroundChunks[MAP_COUNT];
+
     public TileManager(GamePanel gp) {
         this.gp = gp;
 
         // main tile list (all tiles from all maps)
         tile = new Tile[32];
 
-        // mapTileNum[which map][x][y]
-        mapTileNum = new int[MAP_COUNT][gp.maxWorldCol][gp.maxWorldRow];
+        maps = new MapData[MAP_COUNT];
 
         getTileImage(); // load tile images
-        loadMap(); // load map text files
-    }
-
-    // ========================================================
-    // NEW: Reload a single map when switching maps
-    // ========================================================
-    public void loadMap(int mapIndex) {
-        if (mapIndex < 0 || mapIndex >= MAP_COUNT) {
-            System.out.println("[TileManager] Invalid map index " + mapIndex);
-            return;
-        }
-
-        String fileName = "map" + (mapIndex + 1) + ".txt";
-        loadMapFileByIndex(fileName, mapIndex);
-
-        System.out.println("[TileManager] Reloaded map " + mapIndex + " from " + fileName);
-    }
-
-    // Wrapper: uses your existing loadMapFile(String, int)
-    private void loadMapFileByIndex(String fileName, int mapIndex) {
-        try {
-            String path = "assets" + File.separator + "maps" + File.separator + fileName;
-            loadMapFile(fileName, mapIndex); // your original logic already handles file paths internally
-        } catch (Exception e) {
-            System.out.println("[TileManager] Failed to reload map " + mapIndex);
-            e.printStackTrace();
-        }
+        loadMap(); // load map files
     }
 
     // ================== LOAD TILE IMAGES ==================
@@ -86,7 +67,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File grassFile = new File(basePath1 + "tile0_Grass.png");
             if (grassFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(grassFile);
+                tile[tileTypeCount].imagePath = grassFile.getPath();
             }
             tile[tileTypeCount].collision = false; // walkable
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = GRASS");
@@ -97,7 +78,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File pathHFile = new File(basePath1 + "tile1_StraightPathHori.png");
             if (pathHFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(pathHFile);
+                tile[tileTypeCount].imagePath = pathHFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = PATH_HORI");
@@ -108,7 +89,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File pathVFile = new File(basePath1 + "tile1_StraightPathVerti.png");
             if (pathVFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(pathVFile);
+                tile[tileTypeCount].imagePath = pathVFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = PATH_VERT");
@@ -119,7 +100,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File roadFile = new File(basePath1 + "tile7_RockyRoad.png");
             if (roadFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(roadFile);
+                tile[tileTypeCount].imagePath = roadFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = ROAD");
@@ -130,7 +111,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File borderFile = new File(basePath1 + "tile8_Border.png");
             if (borderFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(borderFile);
+                tile[tileTypeCount].imagePath = borderFile.getPath();
             }
             tile[tileTypeCount].collision = true; // blocks movement
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = BORDER");
@@ -141,7 +122,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File teleportFile = new File(basePath1 + "tile9_GrassTP.png");
             if (teleportFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(teleportFile);
+                tile[tileTypeCount].imagePath = teleportFile.getPath();
             }
             tile[tileTypeCount].collision = false; // walkable, used as teleport trigger
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = TELEPORT");
@@ -152,7 +133,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File bushFile = new File(basePath1 + "tile10_Bush.png");
             if (bushFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(bushFile);
+                tile[tileTypeCount].imagePath = bushFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = BUSH");
@@ -163,7 +144,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File grassFlowersFile = new File(basePath1 + "tile11_GrassWFlowers.png");
             if (grassFlowersFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(grassFlowersFile);
+                tile[tileTypeCount].imagePath = grassFlowersFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = GRASS_WITH_FLOWERS");
@@ -174,7 +155,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File FarmFile = new File(basePath1 + "tile12_Farm.png");
             if (FarmFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(FarmFile);
+                tile[tileTypeCount].imagePath = FarmFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP1 TILE " + localId + " (global " + tileTypeCount + ") = FARM");
@@ -190,7 +171,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File flooorFile = new File(basePath2 + "tile0_Floor.png"); // can be same or different sprite
             if (flooorFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(flooorFile);
+                tile[tileTypeCount].imagePath = flooorFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = FLOOR");
@@ -201,7 +182,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File teleportFile2 = new File(basePath2 + "tile1_FloorTP.png");
             if (teleportFile2.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(teleportFile2);
+                tile[tileTypeCount].imagePath = teleportFile2.getPath();
             }
             tile[tileTypeCount].collision = false; // walkable, used as teleport trigger
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = TELEPORT");
@@ -212,7 +193,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File patinteroFile = new File(basePath2 + "tile02_road1.png"); // can be same or different sprite
             if (patinteroFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(patinteroFile);
+                tile[tileTypeCount].imagePath = patinteroFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = PATINTERO");
@@ -223,7 +204,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File road = new File(basePath2 + "road1.png"); // can be same or different sprite
             if (road.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(road);
+                tile[tileTypeCount].imagePath = road.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = ROAD");
@@ -234,7 +215,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File teleportFile3 = new File(basePath2 + "tile1_FloorTP.png");
             if (teleportFile3.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(teleportFile3);
+                tile[tileTypeCount].imagePath = teleportFile3.getPath();
             }
             tile[tileTypeCount].collision = false; // walkable, used as teleport trigger
             System.out.println("MAP3 TILE " + localId + " (global " + tileTypeCount + ") = TELEPORT");
@@ -251,7 +232,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File flooorFile2 = new File(basePath2 + "tile0_Floor.png"); // can be same or different sprite
             if (flooorFile2.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(flooorFile2);
+                tile[tileTypeCount].imagePath = flooorFile2.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = FLOOR2");
@@ -262,7 +243,7 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File patinteroFile1 = new File(basePath2 + "tile02_road1.png"); // can be same or different sprite
             if (patinteroFile1.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(patinteroFile1);
+                tile[tileTypeCount].imagePath = patinteroFile1.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = PATINTERO");
@@ -272,95 +253,126 @@ public class TileManager {
             tile[tileTypeCount] = new Tile();
             File waterFile = new File(basePath2 + "waterpuddle1.png"); // can be same or different sprite
             if (waterFile.exists()) {
-                tile[tileTypeCount].image = ImageIO.read(waterFile);
+                tile[tileTypeCount].imagePath = waterFile.getPath();
             }
             tile[tileTypeCount].collision = false;
             System.out.println("MAP2 TILE " + localId + " (global " + tileTypeCount + ") = FLOOR2");
             tileTypeCount++;
             localId++;
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             System.err.println("Error loading tile images: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    // ================== LOAD MAP FILES ==================
-
-    // loads all map text files
-    public void loadMap() {
-        // map index 0 uses map1.txt
-        loadMapFile("map1.txt", 0);
+    // ================== PER-MAP TILESETS ==================
+    // getTileImage() only registers the tiles; a map's sprites are packed
+    // into its own atlas when the map becomes current (see MapAssets)
 
-        // map index 1 uses map2.txt
-        loadMapFile("map2.txt", 1);
+    // tile[] indices of a map's tileset: tilesetStart[mapIndex] .. end - 1
+    private int tilesetEnd(int mapIndex) {
+        return mapIndex + 1 < MAP_COUNT ? tilesetStart[mapIndex + 1] : tileTypeCount;
+    }
 
-        // map index 2 can use map3.txt if needed:
-        loadMapFile("map3.txt", 2);
+    // A map's tile sprites packed into its atlas, indexed by
+    // tile - tilesetStart[mapIndex]. Only reads the registered image
+    // paths, so it may run on a loader thread (see MapPreloader).
+    public SpriteRegion[] packTileset(int mapIndex, TextureAtlas atlas) {
+        int start = tilesetStart[mapIndex];
+        SpriteRegion[] packed = new SpriteRegion[tilesetEnd(mapIndex) - start];
+
+        for (int i = start; i < tilesetEnd(mapIndex); i++) {
+            Tile t = tile[i];
+            if (t == null || t.imagePath == null)
+                continue;
+
+            packed[i - start] = atlas.get(t.imagePath, gp.tileSize, gp.tileSize, false);
+            if (packed[i - start] == null) {
+                System.err.println("Error loading tile image: " + t.imagePath);
+            }
+        }
+        return packed;
     }
 
-    // reads one map file and fills mapTileNum[mapIndex]
-    // map file uses local tile IDs (0,1,2,...) then converted to global IDs
-    private void loadMapFile(String fileName, int mapIndex) {
-        try {
-            String mapPath = "assets" + File.separator + "maps" + File.separator + fileName;
-            File mapFile = new File(mapPath);
-
-            int tilesetOffset = tilesetStart[mapIndex]; // start index for this map's tiles
-
-            if (!mapFile.exists()) {
-                System.out.println("Map file not found: " + fileName + " → filling map " + mapIndex + " with grass.");
-                for (int row = 0; row < gp.maxWorldRow; row++) {
-                    for (int col = 0; col < gp.maxWorldCol; col++) {
-                        // local ID 0 is grass, so use tilesetOffset
-                        mapTileNum[mapIndex][col][row] = tilesetOffset;
-                    }
-                }
-                return;
+    public void applyTileset(int mapIndex, SpriteRegion[] packed) {
+        int start = tilesetStart[mapIndex];
+        for (int i = start; i < tilesetEnd(mapIndex); i++) {
+            if (tile[i] != null) {
+                tile[i].sprite = packed[i - start];
             }
+        }
+    }
 
-            BufferedReader br = new BufferedReader(
-                    new InputStreamReader(new java.io.FileInputStream(mapFile)));
-
-            String line;
-            int row = 0;
-
-            while ((line = br.readLine()) != null && row < gp.maxWorldRow) {
-                // split by whitespace (spaces or tabs)
-                String[] numbers = line.trim().split("\\s+");
-                for (int col = 0; col < numbers.length && col < gp.maxWorldCol; col++) {
-                    int localId = Integer.parseInt(numbers[col]); // 0,1,2,... from map file
-                    int globalId = tilesetOffset + localId; // convert to global ID
-                    mapTileNum[mapIndex][col][row] = globalId;
-                }
-                row++;
+    public void releaseTileset(int mapIndex) {
+        if (ground[mapIndex] != null) {
+            ground[mapIndex].evictAll();
+        }
+        for (int i = tilesetStart[mapIndex]; i < tilesetEnd(mapIndex); i++) {
+            if (tile[i] != null) {
+                tile[i].sprite = null;
             }
+        }
+    }
 
-            br.close();
-            System.out.println("Map loaded successfully: " + fileName + " -> index " + mapIndex);
+    // ================== LOAD MAP FILES ==================
 
-        } catch (Exception e) {
-            System.err.println("Error loading map " + fileName + ": " + e.getMessage());
-            e.printStackTrace();
+    // loads all map files
+    public void loadMap() {
+        // map index 0 uses map1, 1 uses map2, 2 uses map3
+        for (int mapIndex = 0; mapIndex < MAP_COUNT; mapIndex++) {
+            loadMapFile(mapIndex);
+            resetGround(mapIndex);
+            gp.collision.invalidate(mapIndex);
+        }
+    }
 
-            int tilesetOffset = tilesetStart[mapIndex];
+    // reads map mapIndex (see MapFile) and fills maps[mapIndex]
+    // map file uses local tile IDs (0,1,2,...) then converted to global IDs
+    private void loadMapFile(int mapIndex) {
+        int tilesetOffset = tilesetStart[mapIndex]; // start index for this map's tiles
 
-            // fallback: fill with grass (local ID 0)
-            for (int row = 0; row < gp.maxWorldRow; row++) {
-                for (int col = 0; col < gp.maxWorldCol; col++) {
-                    mapTileNum[mapIndex][col][row] = tilesetOffset;
-                }
-            }
+        MapFile file = MapFile.load(mapIndex);
+        mapFiles[mapIndex] = file;
+
+        ShortBuffer layer = file.layer(MapFile.LAYER_TILES);
+        if (layer == null) {
+            System.out.println("Map file not found: map" + (mapIndex + 1) + " → filling map " + mapIndex + " with grass.");
+            maps[mapIndex] = defaultMap(tilesetOffset);
+            return;
         }
+
+        // read from the layer chunk by chunk as needed (see MapData),
+        // local IDs converted to global ones on the way
+        MapData map = new MapData(file.cols, file.rows, layer, tilesetOffset);
+
+        maps[mapIndex] = map;
+        System.out.println("Map loaded successfully: map" + (mapIndex + 1) + " -> index " + mapIndex
+                + " (" + map.cols + "x" + map.rows + ")");
+    }
+
+    private MapData defaultMap(int tileNum) {
+        return new MapData(MapData.DEFAULT_COLS, MapData.DEFAULT_ROWS, tileNum);
+    }
+
+    // map data for mapIndex (never null once the maps are loaded)
+    public MapData getMap(int mapIndex) {
+        return maps[mapIndex];
+    }
+
+    // all layers of mapIndex as last loaded
+    public MapFile getMapFile(int mapIndex) {
+        return mapFiles[mapIndex];
     }
 
     // returns tile ID for current map, with bounds check
     public int getTileNum(int col, int row) {
-        if (col < 0 || row < 0 || col >= gp.maxWorldCol || row >= gp.maxWorldRow) {
+        MapData map = maps[gp.currentMap];
+        if (!map.inBounds(col, row)) {
             // out of bounds → use local 0 of current map
             return tilesetStart[gp.currentMap];
         }
-        return mapTileNum[gp.currentMap][col][row];
+        return map.get(col, row);
     }
 
     // ================== COLLISION CHECK ==================
@@ -368,11 +380,12 @@ public class TileManager {
     public boolean isBlocked(int col, int row) {
 
         // out-of-bounds tiles are treated as blocked
-        if (col < 0 || row < 0 || col >= gp.maxWorldCol || row >= gp.maxWorldRow) {
+        MapData map = maps[gp.currentMap];
+        if (!map.inBounds(col, row)) {
             return true;
         }
 
-        int tileNum = mapTileNum[gp.currentMap][col][row];
+        int tileNum = map.get(col, row);
 
         // invalid tile index → not blocking
         if (tileNum < 0 || tileNum >= tile.length)
@@ -384,40 +397,58 @@ public class TileManager {
         return tile[tileNum].collision;
     }
 
-    // ================== DRAW TILES ==================
-    public void draw(Graphics2D g2) {
+    // ================== CHANGE A TILE ==================
+    // updates one cell and redraws only that cell into the ground cache
+    public void setTile(int mapIndex, int col, int row, int tileNum) {
+        if (mapIndex < 0 || mapIndex >= MAP_COUNT)
+            return;
+        MapData map = maps[mapIndex];
+        if (map == null || !map.inBounds(col, row))
+            return;
 
-        for (int worldRow = 0; worldRow < gp.maxWorldRow; worldRow++) {
-            for (int worldCol = 0; worldCol < gp.maxWorldCol; worldCol++) {
+        map.set(col, row, tileNum);
+        gp.collision.invalidate(mapIndex);
 
-                int tileNum = mapTileNum[gp.currentMap][worldCol][worldRow];
+        if (ground[mapIndex] != null) {
+            ground[mapIndex].tileChanged(col, row);
+        }
+    }
 
-                if (tileNum < 0 || tileNum >= tile.length ||
-                        tile[tileNum] == null || tile[tileNum].image == null) {
-                    // fallback to local 0 of current map
-                    tileNum = tilesetStart[gp.currentMap];
-                }
+    // ================== GROUND CACHE ==================
+    // drops the old chunks of a map; new ones are baked once stream() asks
+    private void resetGround(int mapIndex) {
+        if (ground[mapIndex] != null) {
+            ground[mapIndex].evictAll();
+        }
+        ground[mapIndex] = new GroundChunks(this, mapIndex, maps[mapIndex], gp.tileSize);
+    }
 
-                int worldX = worldCol * gp.tileSize;
-                int worldY = worldRow * gp.tileSize;
+    // Keep the ground chunks around the view baked (update thread).
+    // Other maps give their chunks back.
+    public void stream(int mapIndex, Viewport view) {
+        for (int i = 0; i < MAP_COUNT; i++) {
+            if (ground[i] == null)
+                continue;
+            if (i == mapIndex) {
+                ground[i].stream(view);
+            } else {
+                ground[i].evictAll();
+            }
+        }
+    }
 
-                int screenX = worldX - gp.cameraX;
-                int screenY = worldY - gp.cameraY;
+    // ================== DRAW TILES ==================
+    // baked chunks under the viewport, clipped to it
+    // (map and camera come from the render snapshot, not the live game)
+    public void draw(Graphics2D g2, int mapIndex, Viewport view) {
 
-                // use panel size if getWidth/getHeight returns 0
-                int screenW = gp.getWidth() > 0 ? gp.getWidth() : gp.screenWidth;
-                int screenH = gp.getHeight() > 0 ? gp.getHeight() : gp.screenHeight;
+        if (mapIndex < 0 || mapIndex >= MAP_COUNT || view.isEmpty())
+            return;
 
-                boolean visible = screenX + gp.tileSize > 0 &&
-                        screenX < screenW &&
-                        screenY + gp.tileSize > 0 &&
-                        screenY < screenH;
+        GroundChunks chunks = ground[mapIndex];
+        if (chunks == null)
+            return;
 
-                if (visible) {
-                    g2.drawImage(tile[tileNum].image, screenX, screenY,
-                            gp.tileSize, gp.tileSize, null);
-                }
-            }
-        }
+        chunks.draw(g2, view);
     }
 }
@@ -2,12 +2,14 @@ package src.ui;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.entity.Player;
 import src.items.Item;
+import src.render.HudState;
+import src.render.SpriteRegion;
+import src.render.TextureAtlas;
+import src.util.AssetCache;
 
 public class ActionBarUI {
 
@@ -29,7 +31,7 @@ public class ActionBarUI {
         this.player = player;
 
         try {
-            barBackground = ImageIO.read(new File("assets/ui/actionbar/actionbar.png"));
+            barBackground = AssetCache.read("assets/ui/actionbar/actionbar.png");
         } catch (Exception e) {
             System.out.println("ERROR LOADING ACTION BAR BACKGROUND");
             e.printStackTrace();
@@ -40,7 +42,16 @@ public class ActionBarUI {
         return barWidth;
     }
 
-    public void draw(Graphics2D g2) {
+    // update thread: copy what draw() shows
+    public void capture(HudState hud) {
+        for (int i = 0; i < HudState.HOTBAR_SLOTS; i++) {
+            Item item = player.hotbar[i];
+            hud.hotbarSprite[i] = item != null ? item.spritePath : null;
+        }
+        hud.activeSlot = activeSlot;
+    }
+
+    public void draw(Graphics2D g2, HudState hud) {
 
         int screenW = gp.getWidth() > 0 ? gp.getWidth() : gp.screenWidth;
         int screenH = gp.getHeight() > 0 ? gp.getHeight() : gp.screenHeight;
@@ -70,13 +81,13 @@ public class ActionBarUI {
         int startSlotX = barX + (barWidth - totalSlotWidth) / 2;
         int startSlotY = y + (barHeight - slotSize) / 2;
 
-        for (int i = 0; i < 3; i++) {
+        for (int i = 0; i < HudState.HOTBAR_SLOTS; i++) {
 
             int x = startSlotX + i * (slotSize + slotPadding);
             int slotY = startSlotY;
 
             // Highlight active slot
-            if (i == activeSlot) {
+            if (i == hud.activeSlot) {
                 g2.setColor(new Color(255, 215, 0, 150));
                 g2.fillRoundRect(x, slotY, slotSize, slotSize, 10, 10);
             }
@@ -86,13 +97,17 @@ public class ActionBarUI {
             g2.drawRoundRect(x, slotY, slotSize, slotSize, 10, 10);
 
             // Item icon
-            Item item = player.hotbar[i];
-            if (item != null && item.sprite != null) {
-                g2.drawImage(item.sprite, x + 6, slotY + 6, slotSize - 12, slotSize - 12, null);
-            }
+            drawIcon(g2, hud.hotbarSprite[i], x + 6, slotY + 6, slotSize - 12);
 
             // Slot number
             g2.drawString("" + (i + 1), x + 4, slotY + 12);
         }
     }
+
+    // item sprite at size x size, from the shared atlas
+    static void drawIcon(Graphics2D g2, String spritePath, int x, int y, int size) {
+        if (spritePath == null) return;
+        SpriteRegion icon = TextureAtlas.region(spritePath, size, size);
+        if (icon != null) icon.draw(g2, x, y);
+    }
 }
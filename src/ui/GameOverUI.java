@@ -2,9 +2,8 @@ package src.ui;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 import src.core.GamePanel;
+import src.util.AssetCache;
 
 public class GameOverUI {
 
@@ -37,9 +36,9 @@ public class GameOverUI {
 
     private void loadSprites() {
         try {
-            popupBackground = ImageIO.read(new File("assets/ui/gameover/gameOverBg.png"));
-            buttonSprites[0] = ImageIO.read(new File("assets/ui/gameover/gameOverBtn.png"));
-            buttonSprites[1] = ImageIO.read(new File("assets/ui/gameover/gameOverQuitBtn.png"));
+            popupBackground = AssetCache.read("assets/ui/gameover/gameOverBg.png");
+            buttonSprites[0] = AssetCache.read("assets/ui/gameover/gameOverBtn.png");
+            buttonSprites[1] = AssetCache.read("assets/ui/gameover/gameOverQuitBtn.png");
 
             // Debug: check if buttons loaded
             if (buttonSprites[0] == null) {
@@ -4,11 +4,11 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.HudState;
+import src.util.AssetCache;
 
 public class HudUI {
 
@@ -38,7 +38,7 @@ public class HudUI {
 
         // Load HUD sprite
         try {
-            hudPanel = ImageIO.read(new File("assets/ui/hud/hud_panel.png"));
+            hudPanel = AssetCache.read("assets/ui/hud/hud_panel.png");
         } catch (Exception e) {
             System.out.println("ERROR LOADING HUD PANEL!");
             e.printStackTrace();
@@ -57,8 +57,16 @@ public class HudUI {
         barCornerRadius = 6;
     }
 
-    public void draw(Graphics2D g2) {
-        drawHud(g2);
+    // update thread: copy what draw() shows
+    public void capture(HudState hud) {
+        hud.health = player.getHealth();
+        hud.maxHealth = player.getMaxHealth();
+        hud.energy = player.getEnergy();
+        hud.maxEnergy = player.getMaxEnergy();
+    }
+
+    public void draw(Graphics2D g2, HudState hud) {
+        drawHud(g2, hud);
     }
 
     // Used by ActionBarUI to position hotbar below HUD
@@ -68,7 +76,7 @@ public class HudUI {
         return 140;
     }
 
-    private void drawHud(Graphics2D g2) {
+    private void drawHud(Graphics2D g2, HudState hud) {
 
         // === Draw Background Sprite ===
         if (hudPanel != null) {
@@ -88,12 +96,12 @@ public class HudUI {
 
         // === HEALTH BAR ===
         drawBar(g2, barX, healthY, barWidth, barHeight,
-                player.getHealth() / (double) player.getMaxHealth(),
+                hud.health / (double) hud.maxHealth,
                 healthColor);
 
         // === ENERGY BAR ===
         drawBar(g2, barX, energyY, barWidth, barHeight,
-                player.getEnergy() / (double) player.getMaxEnergy(),
+                hud.energy / (double) hud.maxEnergy,
                 energyColor);
 
         // === LABELS ===
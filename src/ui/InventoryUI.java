@@ -3,14 +3,14 @@ package src.ui;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.entity.Player;
 import src.items.Item;
 import src.items.weapons.Hanger;
 import src.items.weapons.Tsinelas;
+import src.render.HudState;
+import src.util.AssetCache;
 
 public class InventoryUI {
 
@@ -41,9 +41,7 @@ public class InventoryUI {
         this.player = player;
 
         try {
-            inventoryPanel = ImageIO.read(
-                new File("assets/ui/inventory/inventory_panel.png")
-            );
+            inventoryPanel = AssetCache.read("assets/ui/inventory/inventory_panel.png");
         } catch (Exception e) {
             System.out.println("ERROR loading inventory panel!");
         }
@@ -167,7 +165,20 @@ public class InventoryUI {
     public int invX = 750;   // change to move left/right
     public int invY = 400;   // change to move up/down
 
-    public void draw(Graphics2D g2) {
+    // update thread: copy what draw() shows
+    public void capture(HudState hud) {
+        for (int row = 0; row < HudState.INVENTORY_ROWS; row++) {
+            for (int col = 0; col < HudState.INVENTORY_COLS; col++) {
+                Item slot = player.inventory[row][col];
+                hud.inventorySprite[row][col] = slot != null ? slot.spritePath : null;
+            }
+        }
+        hud.selectedRow = selectedRow;
+        hud.selectedCol = selectedCol;
+        hud.heldSprite = holdingItem && heldItem != null ? heldItem.spritePath : null;
+    }
+
+    public void draw(Graphics2D g2, HudState hud) {
 
         int drawX = invX;
         int drawY = invY;
@@ -191,15 +202,12 @@ public class InventoryUI {
                 g2.setColor(new Color(60, 60, 60, 180));
                 g2.fillRoundRect(x, y, slotSize, slotSize, 10, 10);
 
-                Item slot = player.inventory[row][col];
-                if (slot != null && slot.sprite != null) {
-                    g2.drawImage(slot.sprite, x + 6, y + 6, slotSize - 12, slotSize - 12, null);
-                }
+                ActionBarUI.drawIcon(g2, hud.inventorySprite[row][col], x + 6, y + 6, slotSize - 12);
 
                 g2.setColor(Color.WHITE);
                 g2.drawRoundRect(x, y, slotSize, slotSize, 10, 10);
 
-                if (row == selectedRow && col == selectedCol) {
+                if (row == hud.selectedRow && col == hud.selectedCol) {
                     g2.setColor(new Color(255, 255, 0, 120));
                     g2.fillRoundRect(x, y, slotSize, slotSize, 10, 10);
                 }
@@ -207,19 +215,12 @@ public class InventoryUI {
         }
 
         // Show held item
-        if (holdingItem && heldItem != null && heldItem.sprite != null) {
-
-            int cursorX = startX + selectedCol * (slotSize + slotPadding);
-            int cursorY = startY + selectedRow * (slotSize + slotPadding);
-
-            g2.drawImage(
-                heldItem.sprite,
-                cursorX + 6,
-                cursorY + 6,
-                slotSize - 12,
-                slotSize - 12,
-                null
-            );
+        if (hud.heldSprite != null) {
+
+            int cursorX = startX + hud.selectedCol * (slotSize + slotPadding);
+            int cursorY = startY + hud.selectedRow * (slotSize + slotPadding);
+
+            ActionBarUI.drawIcon(g2, hud.heldSprite, cursorX + 6, cursorY + 6, slotSize - 12);
 
             g2.setColor(Color.WHITE);
             g2.drawRect(cursorX + 6, cursorY + 6, slotSize - 12, slotSize - 12);
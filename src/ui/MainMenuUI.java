@@ -2,10 +2,9 @@ package src.ui;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
+import src.util.AssetCache;
 
 public class MainMenuUI {
 
@@ -22,11 +21,11 @@ public class MainMenuUI {
     // ========================== LOAD ASSETS ==========================
     private void loadMenuSprites() {
         try {
-            menuBackground = ImageIO.read(new File("assets/ui/mainMenu/BG.png"));
+            menuBackground = AssetCache.read("assets/ui/mainMenu/BG.png");
 
-            buttonSprites[0] = ImageIO.read(new File("assets/ui/mainMenu/btn1.png")); // Start
-            buttonSprites[1] = ImageIO.read(new File("assets/ui/mainMenu/btn2.png")); // Resume
-            buttonSprites[2] = ImageIO.read(new File("assets/ui/mainMenu/btn4.png")); // Quit (reusing btn4 as third
+            buttonSprites[0] = AssetCache.read("assets/ui/mainMenu/btn1.png"); // Start
+            buttonSprites[1] = AssetCache.read("assets/ui/mainMenu/btn2.png"); // Resume
+            buttonSprites[2] = AssetCache.read("assets/ui/mainMenu/btn4.png"); // Quit (reusing btn4 as third
                                                                                           // sprite)
 
         } catch (Exception e) {
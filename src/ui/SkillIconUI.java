@@ -2,13 +2,13 @@ package src.ui;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 
 import src.core.GamePanel;
 import src.entity.Player;
 import src.entity.skills.Skill;
 import src.entity.skills.SkillManager;
+import src.render.HudState;
+import src.util.AssetCache;
 
 public class SkillIconUI {
 
@@ -83,17 +83,33 @@ public class SkillIconUI {
         this.skillManager = player.getSkillManager();
 
         try {
-            skillPanel = ImageIO.read(new File("assets/ui/skill/skillbg.png"));
+            skillPanel = AssetCache.read("assets/ui/skill/skillbg.png");
         } catch (Exception e) {
             System.out.println("ERROR LOADING skillbg.png");
             e.printStackTrace();
         }
     }
 
+    // ==================================
+    //  CAPTURE (update thread)
+    // ==================================
+    public void capture(HudState hud) {
+        for (int i = 0; i < HudState.SKILL_SLOTS; i++) {
+            Skill s = skillManager.getSkill(i);
+            hud.skillPresent[i] = s != null;
+            if (s == null) continue;
+
+            hud.skillActive[i] = s.isActive();
+            hud.skillOnCooldown[i] = s.isOnCooldown();
+            hud.skillCooldownTicks[i] = s.getCooldownTimer();
+            hud.skillKey[i] = gp.keyHandler.getSkillKeyLabel(i);
+        }
+    }
+
     // ==================================
     //  DRAW UI
     // ==================================
-    public void draw(Graphics2D g2) {
+    public void draw(Graphics2D g2, HudState hud) {
 
         int screenW = gp.getWidth() > 0 ? gp.getWidth() : gp.screenWidth;
         int screenH = gp.getHeight() > 0 ? gp.getHeight() : gp.screenHeight;
@@ -122,10 +138,9 @@ public class SkillIconUI {
         // =============================================
         //  DRAW SKILL LABELS + COOLDOWNS
         // =============================================
-        for (int i = 0; i < 3; i++) {
+        for (int i = 0; i < HudState.SKILL_SLOTS; i++) {
 
-            Skill s = skillManager.getSkill(i);
-            if (s == null) continue;
+            if (!hud.skillPresent[i]) continue;
 
             // ICON POSITION (with H/V micro-adjustments)
             int cx = posX + iconBaseX + (i * iconSpacingX) + iconOffsetX[i];
@@ -135,7 +150,7 @@ public class SkillIconUI {
             g2.setFont(g2.getFont().deriveFont(Font.BOLD, (float) keyFontSize));
             g2.setColor(Color.WHITE);
 
-            String key = gp.keyHandler.getSkillKeyLabel(i);
+            String key = hud.skillKey[i];
             int keyW = g2.getFontMetrics().stringWidth(key);
 
             g2.drawString(
@@ -146,9 +161,9 @@ public class SkillIconUI {
 
             // ---------------- COOLDOWN TEXT ----------------
             String cdText;
-            if (s.isActive()) cdText = "Active";
-            else if (s.isOnCooldown())
-                cdText = String.format("CD %.1fs", s.getCooldownTimer() / 60.0);
+            if (hud.skillActive[i]) cdText = "Active";
+            else if (hud.skillOnCooldown[i])
+                cdText = String.format("CD %.1fs", hud.skillCooldownTicks[i] / 60.0);
             else cdText = "Ready";
 
             g2.setFont(g2.getFont().deriveFont(Font.PLAIN, (float) cdFontSize));
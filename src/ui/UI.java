@@ -6,6 +6,7 @@ import java.awt.Graphics2D;
 
 import src.core.GamePanel;
 import src.entity.Player;
+import src.render.HudState;
 
 public class UI {
 
@@ -51,10 +52,21 @@ public class UI {
     }
 
     // =========================================================
-    //        INTERNAL MESSAGE DRAWING
+    //        PER-TICK UPDATE
     // =========================================================
-    private void drawMessage(Graphics2D g2) {
+    // Message lifetime counts game ticks, not rendered frames, so it
+    // lasts the same time no matter how fast we draw.
+    public void update() {
         if (messageTimer > 0) {
+            messageTimer--;
+        }
+    }
+
+    // =========================================================
+    //        INTERNAL MESSAGE DRAWING
+    // =========================================================
+    private void drawMessage(Graphics2D g2, String message) {
+        if (message != null) {
 
             // ===== MESSAGE FONT LIKE SKILLS =====
             g2.setFont(g2.getFont().deriveFont(Font.BOLD, 10f));
@@ -88,27 +100,35 @@ public class UI {
             // ===== TEXT =====
             g2.setColor(Color.WHITE);
             g2.drawString(message, msgX, msgY);
-
-            messageTimer--;
         }
     }
 
 
+    // =========================================================
+    //        CAPTURE (update thread, see RenderSnapshot.hud)
+    // =========================================================
+    public void capture(HudState hud) {
+        hudUI.capture(hud);
+        skillIconUI.capture(hud);
+        inventoryUI.capture(hud);
+        hud.message = messageTimer > 0 ? message : null;
+    }
+
     // =========================================================
     //        MAIN DRAW FUNCTION
     // =========================================================
-    public void draw(Graphics2D g2) {
+    public void draw(Graphics2D g2, HudState hud) {
 
-        if (gp.gameState == GamePanel.STATE_PLAY) {
-            hudUI.draw(g2);
-            skillIconUI.draw(g2);
+        if (hud.gameState == GamePanel.STATE_PLAY) {
+            hudUI.draw(g2, hud);
+            skillIconUI.draw(g2, hud);
         }
-        else if (gp.gameState == GamePanel.STATE_INVENTORY) {
-            hudUI.draw(g2);
-            inventoryUI.draw(g2);
+        else if (hud.gameState == GamePanel.STATE_INVENTORY) {
+            hudUI.draw(g2, hud);
+            inventoryUI.draw(g2, hud);
         }
 
         // Draw pickup messages for BOTH states
-        drawMessage(g2);
+        drawMessage(g2, hud.message);
     }
 }
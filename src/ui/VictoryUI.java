@@ -3,8 +3,8 @@ package src.ui;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import javax.imageio.ImageIO;
 import src.core.GamePanel;
+import src.util.AssetCache;
 
 public class VictoryUI {
 
@@ -33,11 +33,11 @@ public class VictoryUI {
             // Try to load victory background if it exists
             File bgFile = new File("assets/ui/victory/victoryBg.png");
             if (bgFile.exists()) {
-                popupBackground = ImageIO.read(bgFile);
+                popupBackground = AssetCache.read(bgFile.getPath());
             }
 
             // Load quit menu button (same as game over)
-            quitButtonSprite = ImageIO.read(new File("assets/ui/gameover/gameOverQuitBtn.png"));
+            quitButtonSprite = AssetCache.read("assets/ui/gameover/gameOverQuitBtn.png");
         } catch (Exception e) {
             System.out.println("[VictoryUI] Failed to load assets!");
             e.printStackTrace();
@@ -0,0 +1,287 @@
+package src.util;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Shared image cache keyed by path.
+//
+// acquire() loads an image once and hands the same BufferedImage to every
+// caller; each acquire must be paired with a release() (entities do this in
+// dispose()). Images nobody holds stay cached in LRU order until the idle
+// ones exceed IDLE_BUDGET_BYTES, so respawning a wave costs no disk I/O.
+//
+// Every image is converted to the display's compatible pixel format, and
+// acquireScaled() hands out copies pre-scaled to their on-screen size
+// (cached per path + size), so drawing them is a plain unscaled blit.
+//
+// Thread-safe: the bookkeeping is under one lock, decoding is done outside
+// it (per entry), so different images can load in parallel.
+public class AssetCache {
+
+    // memory allowed for images that are cached but not in use
+    private static final long IDLE_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private static final Object lock = new Object();
+    private static final Map<String, Entry> entries = new HashMap<>();
+
+    // refCount == 0 entries, least recently released first
+    private static final LinkedHashMap<String, Entry> idle = new LinkedHashMap<>();
+    private static long idleBytes = 0;
+
+    private static final class Entry {
+        final String key;
+        final String path;
+        final int width;      // 0 = original size
+        final int height;
+        final boolean flipX;
+        int refCount;
+        private boolean loaded;
+        private volatile BufferedImage image;
+
+        Entry(String key, String path, int width, int height, boolean flipX) {
+            this.key = key;
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.flipX = flipX;
+        }
+
+        // decode once; other threads asking for the same image wait here
+        synchronized BufferedImage get() {
+            if (!loaded) {
+                image = width > 0 ? scaledVariant(path, width, height, flipX) : decode(path);
+                loaded = true;
+            }
+            return image;
+        }
+
+        long bytes() {
+            BufferedImage img = image;
+            return img == null ? 0 : (long) img.getWidth() * img.getHeight() * 4;
+        }
+    }
+
+    private AssetCache() {}
+
+    // ================== ACQUIRE / RELEASE ==================
+
+    // Returns the shared image for path (null if it does not exist).
+    // A non-null result must be given back with release(path).
+    public static BufferedImage acquire(String path) {
+        path = normalize(path);
+        return acquireEntry(path, path, 0, 0, false);
+    }
+
+    public static void release(String path) {
+        if (path == null)
+            return;
+        releaseEntry(normalize(path));
+    }
+
+    // Same image pre-scaled to width x height (optionally mirrored), for
+    // sprites that are always drawn at one size. Release with releaseScaled().
+    public static BufferedImage acquireScaled(String path, int width, int height, boolean flipX) {
+        if (width <= 0 || height <= 0)
+            return acquire(path);
+        path = normalize(path);
+        return acquireEntry(variantKey(path, width, height, flipX), path, width, height, flipX);
+    }
+
+    public static void releaseScaled(String path, int width, int height, boolean flipX) {
+        if (path == null)
+            return;
+        if (width <= 0 || height <= 0) {
+            release(path);
+            return;
+        }
+        releaseEntry(variantKey(normalize(path), width, height, flipX));
+    }
+
+    private static BufferedImage acquireEntry(String key, String path, int width, int height, boolean flipX) {
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key, path, width, height, flipX);
+                entries.put(key, entry);
+            }
+            entry.refCount++;
+            if (idle.remove(key) != null) {
+                idleBytes -= entry.bytes();
+            }
+        }
+
+        BufferedImage image = entry.get();
+        if (image == null) {
+            // missing file: nothing to hold on to
+            releaseEntry(key);
+        }
+        return image;
+    }
+
+    private static void releaseEntry(String key) {
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.refCount <= 0)
+                return;
+
+            entry.refCount--;
+            if (entry.refCount == 0) {
+                idle.put(key, entry);
+                idleBytes += entry.bytes();
+                trimIdle();
+            }
+        }
+    }
+
+    private static String variantKey(String path, int width, int height, boolean flipX) {
+        return path + "@" + width + "x" + height + (flipX ? ":flip" : "");
+    }
+
+    // Drop-in for ImageIO.read(file) for images kept for the whole game
+    // (tiles, object types, UI): shares the cached copy and never releases it.
+    // Throws like ImageIO does when the file cannot be read.
+    public static BufferedImage read(String path) throws IOException {
+        BufferedImage image = acquire(path);
+        if (image == null) {
+            throw new IOException("Can't read input file: " + path);
+        }
+        return image;
+    }
+
+    public static BufferedImage readScaled(String path, int width, int height) throws IOException {
+        BufferedImage image = acquireScaled(path, width, height, false);
+        if (image == null) {
+            throw new IOException("Can't read input file: " + path);
+        }
+        return image;
+    }
+
+    // Load into the cache without holding it (warm-up / preloading)
+    public static void preload(String path) {
+        if (acquire(path) != null) {
+            release(path);
+        }
+    }
+
+    // ================== FRAME SETS ==================
+
+    // prefix + 1..count + ".png", e.g. framePaths(".../walkR", 3) -> walkR1.png..walkR3.png
+    public static String[] framePaths(String prefix, int count) {
+        String[] paths = new String[count];
+        for (int i = 0; i < count; i++) {
+            paths[i] = prefix + (i + 1) + ".png";
+        }
+        return paths;
+    }
+
+    // Acquire every path; missing frames come back as null entries
+    public static BufferedImage[] acquireAll(String[] paths) {
+        BufferedImage[] images = new BufferedImage[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            images[i] = acquire(paths[i]);
+        }
+        return images;
+    }
+
+    public static void releaseAll(String[] paths) {
+        for (String path : paths) {
+            release(path);
+        }
+    }
+
+    public static BufferedImage[] acquireAllScaled(String[] paths, int width, int height, boolean flipX) {
+        BufferedImage[] images = new BufferedImage[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            images[i] = acquireScaled(paths[i], width, height, flipX);
+        }
+        return images;
+    }
+
+    public static void releaseAllScaled(String[] paths, int width, int height, boolean flipX) {
+        for (String path : paths) {
+            releaseScaled(path, width, height, flipX);
+        }
+    }
+
+    // ================== EVICTION ==================
+
+    private static void trimIdle() {
+        Iterator<Map.Entry<String, Entry>> it = idle.entrySet().iterator();
+        while (idleBytes > IDLE_BUDGET_BYTES && it.hasNext()) {
+            Entry oldest = it.next().getValue();
+            it.remove();
+            idleBytes -= oldest.bytes();
+            entries.remove(oldest.key);
+        }
+    }
+
+    // Drop every image nobody is using (e.g. on low memory)
+    public static void evictIdle() {
+        synchronized (lock) {
+            for (Entry entry : idle.values()) {
+                entries.remove(entry.key);
+            }
+            idle.clear();
+            idleBytes = 0;
+        }
+    }
+
+    public static int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    // "assets\\ui\\a.png" and "assets/ui/a.png" are the same image
+    private static String normalize(String path) {
+        return path.replace('\\', '/');
+    }
+
+    // ================== DECODE ==================
+
+    // Paths are relative to the working directory (assets/...); a leading
+    // "/" means a classpath resource instead.
+    private static BufferedImage decode(String path) {
+        try {
+            if (path.startsWith("/")) {
+                try (InputStream is = AssetCache.class.getResourceAsStream(path)) {
+                    if (is != null) {
+                        return ImageUtil.toCompatible(ImageIO.read(is));
+                    }
+                }
+            }
+
+            File file = new File(path);
+            if (file.exists()) {
+                return ImageUtil.toCompatible(ImageIO.read(file));
+            }
+
+            System.out.println("[AssetCache] Missing image: " + path);
+        } catch (Exception e) {
+            System.out.println("[AssetCache] Failed to load " + path + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    // Scaled copy built from the (cached) original; the original is only
+    // borrowed, so the cache may drop it once all its sizes exist
+    private static BufferedImage scaledVariant(String path, int width, int height, boolean flipX) {
+        BufferedImage source = acquire(path);
+        if (source == null) {
+            return null;
+        }
+        try {
+            return ImageUtil.scale(source, width, height, flipX);
+        } finally {
+            release(path);
+        }
+    }
+}
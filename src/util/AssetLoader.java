@@ -0,0 +1,154 @@
+package src.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Decodes images into the AssetCache on a pool of worker threads.
+//
+// Assets are loaded in named groups (e.g. "menu", "world"). A group holds a
+// reference to every image it loaded, so nothing gets evicted before the
+// game code that needs it acquires it; release() lets them go again.
+// Groups are queued in the order they were requested, so the first group
+// finishes first.
+public class AssetLoader {
+
+    private final ExecutorService pool;
+
+    public AssetLoader() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        AtomicInteger threadCount = new AtomicInteger(1);
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "AssetLoader-" + threadCount.getAndIncrement());
+            t.setDaemon(true); // never keeps the game alive on exit
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        };
+        pool = Executors.newFixedThreadPool(threads, factory);
+    }
+
+    // Queue every path of a group; onProgress runs (on a worker) after each image
+    public LoadGroup load(String name, List<String> paths, Runnable onProgress) {
+        LoadGroup group = new LoadGroup(name, paths);
+
+        if (paths.isEmpty()) {
+            System.out.println("[AssetLoader] Group '" + name + "' is empty");
+            return group;
+        }
+
+        for (int i = 0; i < paths.size(); i++) {
+            int index = i;
+            pool.execute(() -> {
+                group.loadOne(index);
+                if (onProgress != null) {
+                    onProgress.run();
+                }
+            });
+        }
+        return group;
+    }
+
+    // Stop the workers once everything is queued and loaded
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // All *.png files under dir (recursively), skipping the excluded folders
+    public static List<String> findImages(String dir, String... excludeDirs) {
+        List<String> paths = new ArrayList<>();
+        collectImages(new File(dir), excludeDirs, paths);
+        return paths;
+    }
+
+    private static void collectImages(File dir, String[] excludeDirs, List<String> out) {
+        for (String exclude : excludeDirs) {
+            if (new File(exclude).getPath().equals(dir.getPath())) {
+                return;
+            }
+        }
+
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File f : files) {
+            if (f.isDirectory()) {
+                collectImages(f, excludeDirs, out);
+            } else if (f.getName().toLowerCase().endsWith(".png")) {
+                out.add(f.getPath());
+            }
+        }
+    }
+
+    // ================== LOAD GROUP ==================
+    public static class LoadGroup {
+
+        public final String name;
+        private final String[] paths;
+        private final boolean[] held;
+        private final AtomicInteger loaded = new AtomicInteger();
+        private final CountDownLatch done;
+        private final long startNanos = System.nanoTime();
+
+        LoadGroup(String name, List<String> paths) {
+            this.name = name;
+            this.paths = paths.toArray(new String[0]);
+            this.held = new boolean[this.paths.length];
+            this.done = new CountDownLatch(this.paths.length);
+        }
+
+        private void loadOne(int index) {
+            try {
+                boolean ok = AssetCache.acquire(paths[index]) != null;
+                synchronized (this) {
+                    held[index] = ok;
+                }
+            } finally {
+                if (loaded.incrementAndGet() == paths.length) {
+                    System.out.println("[AssetLoader] Group '" + name + "' loaded " + paths.length +
+                            " images in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+                }
+                done.countDown();
+            }
+        }
+
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        public int getLoaded() {
+            return loaded.get();
+        }
+
+        public int getTotal() {
+            return paths.length;
+        }
+
+        // 0..1
+        public float progress() {
+            return paths.length == 0 ? 1f : loaded.get() / (float) paths.length;
+        }
+
+        // Block until the whole group is decoded (tools, tests)
+        public void await() throws InterruptedException {
+            done.await();
+        }
+
+        // Let the cache evict these images once nobody else uses them
+        public synchronized void release() {
+            for (int i = 0; i < paths.length; i++) {
+                if (held[i]) {
+                    held[i] = false;
+                    AssetCache.release(paths[i]);
+                }
+            }
+        }
+    }
+}
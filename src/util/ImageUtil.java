@@ -0,0 +1,65 @@
+package src.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+
+public class ImageUtil {
+
+    // Creates an image in the screen's native pixel format so Java2D can keep
+    // an accelerated copy of it. Falls back to a plain ARGB/RGB image when
+    // there is no display (headless tools, converters).
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        int type = (transparency == java.awt.Transparency.OPAQUE)
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB;
+        return new BufferedImage(width, height, type);
+    }
+
+    // Copy into the screen's native format (returns the image itself if it
+    // already is). Keeps transparency; opaque images become opaque.
+    public static BufferedImage toCompatible(BufferedImage src) {
+        if (src == null) {
+            return null;
+        }
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc != null && src.getColorModel().equals(gc.getColorModel(src.getTransparency()))) {
+            return src;
+        }
+        if (gc == null && src.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return src;
+        }
+        return scale(src, src.getWidth(), src.getHeight(), false);
+    }
+
+    // Compatible copy resized to width x height once, so drawing it later
+    // is an unscaled blit. Nearest neighbour, same as the old per-frame
+    // drawImage scaling, so pixel art stays crisp. flipX mirrors it.
+    public static BufferedImage scale(BufferedImage src, int width, int height, boolean flipX) {
+        BufferedImage out = createCompatibleImage(width, height, src.getTransparency());
+        Graphics2D g2 = out.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        if (flipX) {
+            g2.drawImage(src, width, 0, 0, height, 0, 0, src.getWidth(), src.getHeight(), null);
+        } else {
+            g2.drawImage(src, 0, 0, width, height, null);
+        }
+        g2.dispose();
+        return out;
+    }
+
+    public static GraphicsConfiguration getGraphicsConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration();
+    }
+}